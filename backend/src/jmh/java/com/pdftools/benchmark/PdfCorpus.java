@@ -0,0 +1,67 @@
+package com.pdftools.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Generates the benchmark corpus in memory, so benchmarks need no fixture files.
+ * Pages carry a heading, a few paragraphs of body text and a filled shape, which
+ * gives text extraction, redaction and rendering something realistic to chew on.
+ */
+public final class PdfCorpus {
+
+    public enum Size {
+        SMALL(5), MEDIUM(200), LARGE(2000);
+
+        final int pages;
+
+        Size(int pages) {
+            this.pages = pages;
+        }
+    }
+
+    private static final String LINE =
+        "The quick brown fox jumps over the lazy dog while the invoice total is recalculated.";
+
+    private PdfCorpus() {
+    }
+
+    static byte[] generate(Size size) throws IOException {
+        PDType1Font heading = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        PDType1Font body = new PDType1Font(Standard14Fonts.FontName.TIMES_ROMAN);
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 1; i <= size.pages; i++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(heading, 18);
+                    content.newLineAtOffset(50, 780);
+                    content.showText("Section " + i);
+                    content.setFont(body, 11);
+                    content.setLeading(14);
+                    for (int line = 0; line < 40; line++) {
+                        content.newLine();
+                        content.showText(line + ". " + LINE);
+                    }
+                    content.endText();
+
+                    content.setNonStrokingColor(new Color(220, 230, 240));
+                    content.addRect(50, 60, 495, 80);
+                    content.fill();
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.pdftools.benchmark;
+
+import com.pdftools.dto.PdfOperationResult;
+import com.pdftools.service.ParallelTextExtractor;
+import com.pdftools.service.PdfDocumentLoader;
+import com.pdftools.service.PdfService;
+import com.pdftools.service.PdfWorkerPool;
+import com.pdftools.service.ResultCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of every heavy PdfService operation over small, medium
+ * and large generated documents.
+ * <p>
+ * Sample-time mode reports latency percentiles alongside throughput; run with
+ * {@code -prof gc} (the profile default) for allocation rates. The result cache is
+ * disabled so every invocation does the full work, and outputs are deleted after
+ * each iteration to keep the upload directory from growing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class PdfServiceBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public PdfCorpus.Size corpus;
+
+    private PdfService service;
+    private PdfWorkerPool workerPool;
+    private Path workDir;
+    private Path uploadDir;
+    private byte[] pdf;
+    private String redactions;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("pdf-bench-");
+        uploadDir = Files.createDirectories(workDir.resolve("uploads"));
+
+        PdfDocumentLoader loader = new PdfDocumentLoader(
+            workDir.resolve("scratch").toString(), 16L * 1024 * 1024, -1, "buffered");
+        workerPool = new PdfWorkerPool();
+        service = new PdfService(loader, workerPool, new ParallelTextExtractor(loader, workerPool),
+            new ResultCache(false, 0, 0, 0));
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+
+        pdf = PdfCorpus.generate(corpus);
+        StringBuilder json = new StringBuilder("[");
+        for (int page = 1; page <= corpus.pages; page++) {
+            if (page > 1) {
+                json.append(',');
+            }
+            json.append("{\"x\":50,\"y\":700,\"width\":300,\"height\":40,\"pageNum\":").append(page).append('}');
+        }
+        redactions = json.append(']').toString();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearOutputs() throws Exception {
+        File[] outputs = uploadDir.toFile().listFiles();
+        if (outputs != null) {
+            for (File output : outputs) {
+                FileSystemUtils.deleteRecursively(output);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workerPool.shutdown();
+        FileSystemUtils.deleteRecursively(workDir.toFile());
+    }
+
+    private MockMultipartFile upload() {
+        return new MockMultipartFile("file", "bench.pdf", "application/pdf", pdf);
+    }
+
+    @Benchmark
+    public PdfOperationResult merge() throws Exception {
+        return service.mergePdfs(List.of(upload(), upload()), "bench.pdf");
+    }
+
+    @Benchmark
+    public PdfOperationResult split() throws Exception {
+        return service.splitPdf(upload(), null, "bench.pdf");
+    }
+
+    @Benchmark
+    public PdfOperationResult extract() throws Exception {
+        return service.extractPages(upload(), List.of(1, 2, 3, 4, 5), "bench.pdf");
+    }
+
+    @Benchmark
+    public PdfOperationResult watermark() throws Exception {
+        return service.addWatermark(upload(), "CONFIDENTIAL", null, null, 45f, 0.3f, "bench.pdf");
+    }
+
+    @Benchmark
+    public PdfOperationResult redactMultiple() throws Exception {
+        return service.redactMultiple(upload(), redactions, "bench.pdf");
+    }
+
+    @Benchmark
+    public PdfOperationResult convertToMarkdown() throws Exception {
+        return service.convertToMarkdown(upload(), "bench.pdf");
+    }
+
+    @Benchmark
+    public PdfOperationResult convertToDocx() throws Exception {
+        return service.convertToDocx(upload(), "bench.pdf");
+    }
+}
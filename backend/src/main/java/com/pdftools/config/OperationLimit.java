@@ -0,0 +1,20 @@
+package com.pdftools.config;
+
+import com.pdftools.service.OperationLimiter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated handler under the {@link OperationLimiter} permit of the given kind
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OperationLimit {
+
+    OperationLimiter.Kind value();
+}
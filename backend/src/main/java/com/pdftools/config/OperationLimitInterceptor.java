@@ -0,0 +1,52 @@
+package com.pdftools.config;
+
+import com.pdftools.service.OperationLimiter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Acquires an {@link OperationLimiter} permit before handlers annotated with
+ * {@link OperationLimit} and releases it once the request has completed.
+ * <p>
+ * For asynchronous responses the permit is held across the initial dispatch and
+ * released after the async dispatch that finishes the response. A rejected
+ * request surfaces as a {@code CapacityExceededException} through the regular
+ * exception handling.
+ */
+@Component
+public class OperationLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = OperationLimitInterceptor.class.getName() + ".permit";
+
+    private final OperationLimiter limiter;
+
+    public OperationLimitInterceptor(OperationLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        OperationLimit limit = method.getMethodAnnotation(OperationLimit.class);
+        if (limit != null) {
+            request.setAttribute(PERMIT_ATTRIBUTE, limiter.acquire(limit.value()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof OperationLimiter.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.pdftools.controller;
+
+import com.pdftools.dto.BatchItemResult;
+import com.pdftools.dto.PdfInfo;
+import com.pdftools.dto.PdfOperationResult;
+import com.pdftools.exception.PdfProcessingException;
+import com.pdftools.service.OperationLimiter;
+import com.pdftools.service.PdfBatchService;
+import com.pdftools.service.PdfInfoService;
+import com.pdftools.service.PdfService;
+import com.pdftools.service.SpooledMultipartFile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Batch variants that apply one operation to every uploaded file.
+ * Results are streamed as each file completes: one JSON line per file
+ * ({@code format=ndjson}, the default) or a ZIP of the outputs followed by a
+ * {@code results.ndjson} entry ({@code format=zip}).
+ * <p>
+ * The endpoints take no request-level permit, so a long batch does not hold one for
+ * its whole response; every file takes a permit of its operation's kind while it is
+ * processed.
+ */
+@RestController
+@RequestMapping("/api/pdf/batch")
+public class PdfBatchController {
+
+    @Autowired
+    private PdfBatchService batchService;
+
+    @Autowired
+    private PdfService pdfService;
+
+    @Autowired
+    private PdfInfoService pdfInfoService;
+
+    @PostMapping("/watermark")
+    public ResponseEntity<StreamingResponseBody> addWatermark(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("text") String watermarkText,
+            @RequestParam(value = "fontName", required = false) String fontName,
+            @RequestParam(value = "x", required = false) Float x,
+            @RequestParam(value = "y", required = false) Float y,
+            @RequestParam(value = "rotation", defaultValue = "45") float rotation,
+            @RequestParam(value = "opacity", defaultValue = "0.3") float opacity,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) throws PdfProcessingException {
+        return stream(files, format, OperationLimiter.Kind.PROCESSING, file -> toItem(pdfService.addWatermark(
+            file, watermarkText, fontName, x, y, rotation, opacity, file.getOriginalFilename())));
+    }
+
+    @PostMapping("/convert/markdown")
+    public ResponseEntity<StreamingResponseBody> convertToMarkdown(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) throws PdfProcessingException {
+        return stream(files, format, OperationLimiter.Kind.CONVERSION, 
+            file -> toItem(pdfService.convertToMarkdown(file, file.getOriginalFilename())));
+    }
+
+    @PostMapping("/convert/docx")
+    public ResponseEntity<StreamingResponseBody> convertToDocx(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) throws PdfProcessingException {
+        return stream(files, format, OperationLimiter.Kind.CONVERSION, 
+            file -> toItem(pdfService.convertToDocx(file, file.getOriginalFilename())));
+    }
+
+    @PostMapping("/redact-multiple")
+    public ResponseEntity<StreamingResponseBody> redactMultiple(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("redactions") String redactionsJson,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) throws PdfProcessingException {
+        return stream(files, format, OperationLimiter.Kind.PROCESSING, file -> toItem(
+            pdfService.redactMultiple(file, redactionsJson, file.getOriginalFilename())));
+    }
+
+    @PostMapping("/info")
+    public ResponseEntity<StreamingResponseBody> getPdfDetails(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) throws PdfProcessingException {
+        return stream(files, format, OperationLimiter.Kind.IO, file -> {
+            PdfInfo info = pdfInfoService.getInfo(file);
+            BatchItemResult item = new BatchItemResult(true, String.format("Pages: %d", info.getPageCount()), null);
+            item.setInfo(info);
+            return item;
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(List<MultipartFile> files, String format,
+            OperationLimiter.Kind kind, PdfBatchService.BatchTask task) throws PdfProcessingException {
+        PdfBatchService.Format batchFormat = PdfBatchService.Format.parse(format);
+        List<SpooledMultipartFile> spooled = batchService.spool(files);
+        StreamingResponseBody body = out -> batchService.write(spooled, kind, task, batchFormat, out);
+
+        if (batchFormat == PdfBatchService.Format.ZIP) {
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("batch.zip").build().toString())
+                .body(body);
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    private static BatchItemResult toItem(PdfOperationResult result) {
+        return new BatchItemResult(result.isSuccess(), result.getMessage(), result.getOutputFilename());
+    }
+}
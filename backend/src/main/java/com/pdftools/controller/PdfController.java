@@ -1,16 +1,41 @@
 package com.pdftools.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pdftools.config.OperationLimit;
+import com.pdftools.dto.PdfInfo;
 import com.pdftools.dto.PdfOperationResult;
+import com.pdftools.dto.PipelineStep;
+import com.pdftools.dto.RedactionSearchResult;
+import com.pdftools.dto.StorageUsage;
+import com.pdftools.dto.ThumbnailResult;
+import com.pdftools.exception.CapacityExceededException;
 import com.pdftools.exception.PdfProcessingException;
+import com.pdftools.service.FontRegistry;
+import com.pdftools.service.OperationLimiter;
+import com.pdftools.service.PdfInfoService;
+import com.pdftools.service.PdfRenderService;
 import com.pdftools.service.PdfService;
+import com.pdftools.service.ProgressStreamService;
+import com.pdftools.service.UploadStorageManager;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.Arrays;
@@ -19,10 +44,29 @@ import java.util.Arrays;
 @RequestMapping("/api/pdf")
 public class PdfController {
 
+    private static final ObjectReader PIPELINE_STEPS_READER = new ObjectMapper()
+        .readerFor(new TypeReference<List<PipelineStep>>() {});
+
     @Autowired
     private PdfService pdfService;
 
+    @Autowired
+    private UploadStorageManager storageManager;
+
+    @Autowired
+    private FontRegistry fontRegistry;
+
+    @Autowired
+    private PdfInfoService pdfInfoService;
+
+    @Autowired
+    private PdfRenderService renderService;
+
+    @Autowired
+    private ProgressStreamService progressStreams;
+
     @PostMapping("/merge")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
     public ResponseEntity<PdfOperationResult> mergePdfs(
             @RequestParam("files") List<MultipartFile> files,
             @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
@@ -30,16 +74,45 @@ public class PdfController {
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/merge-stored")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
+    public ResponseEntity<PdfOperationResult> mergeStoredFiles(
+            @RequestParam("filenames") List<String> filenames,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
+        PdfOperationResult result = pdfService.mergeStoredFiles(filenames, originalFilename);
+        filenames.forEach(storageManager::touch);
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/split")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
     public ResponseEntity<PdfOperationResult> splitPdf(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "groups", required = false) String groups,
+            @RequestParam(value = "zip", defaultValue = "false") boolean zip,
             @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
-        PdfOperationResult result = pdfService.splitPdf(file, groups, originalFilename);
+        PdfOperationResult result = pdfService.splitPdf(file, groups, zip, originalFilename);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Split PDF, streaming {@code progress} events and a final {@code result} event.
+     * Progress endpoints take their permit in {@link ProgressStreamService}, which holds
+     * it until the operation ends rather than until the stream closes.
+     */
+    @PostMapping(value = "/split/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter splitPdfWithProgress(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "groups", required = false) String groups,
+            @RequestParam(value = "zip", defaultValue = "false") boolean zip,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename)
+            throws CapacityExceededException, PdfProcessingException {
+        return progressStreams.stream(OperationLimiter.Kind.PROCESSING, List.of(file),
+            (spooled, progress) -> pdfService.splitPdf(spooled.get(0), groups, zip, originalFilename, progress));
+    }
+
     @PostMapping("/extract")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
     public ResponseEntity<PdfOperationResult> extractPages(
             @RequestParam("file") MultipartFile file,
             @RequestParam("pages") String pages,
@@ -53,6 +126,7 @@ public class PdfController {
     }
 
     @PostMapping("/remove")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
     public ResponseEntity<PdfOperationResult> removePages(
             @RequestParam("file") MultipartFile file,
             @RequestParam("pages") String pages,
@@ -66,19 +140,22 @@ public class PdfController {
     }
 
     @PostMapping("/watermark")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
     public ResponseEntity<PdfOperationResult> addWatermark(
             @RequestParam("file") MultipartFile file,
             @RequestParam("text") String watermarkText,
+            @RequestParam(value = "fontName", required = false) String fontName,
             @RequestParam(value = "x", required = false) Float x,
             @RequestParam(value = "y", required = false) Float y,
             @RequestParam(value = "rotation", defaultValue = "45") float rotation,
             @RequestParam(value = "opacity", defaultValue = "0.3") float opacity,
             @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
-        PdfOperationResult result = pdfService.addWatermark(file, watermarkText, x, y, rotation, opacity, originalFilename);
+        PdfOperationResult result = pdfService.addWatermark(file, watermarkText, fontName, x, y, rotation, opacity, originalFilename);
         return ResponseEntity.ok(result);
     }
 
     @PostMapping("/add-text")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
     public ResponseEntity<PdfOperationResult> addText(
             @RequestParam("file") MultipartFile file,
             @RequestParam("text") String text,
@@ -88,24 +165,28 @@ public class PdfController {
             @RequestParam(value = "fontSize", defaultValue = "12") float fontSize,
             @RequestParam(value = "fontName", defaultValue = "HELVETICA") String fontName,
             @RequestParam(value = "fontColor", defaultValue = "#000000") String fontColor,
+            @RequestParam(value = "incremental", defaultValue = "false") boolean incremental,
             @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
-        PdfOperationResult result = pdfService.addText(file, text, x, y, pageNum, fontSize, fontName, fontColor, originalFilename);
+        PdfOperationResult result = pdfService.addText(file, text, x, y, pageNum, fontSize, fontName, fontColor, incremental, originalFilename);
         return ResponseEntity.ok(result);
     }
 
     @PostMapping("/add-signature")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
     public ResponseEntity<PdfOperationResult> addSignature(
             @RequestParam("file") MultipartFile pdfFile,
             @RequestParam("signature") MultipartFile signatureFile,
             @RequestParam(value = "x", defaultValue = "400") float x,
             @RequestParam(value = "y", defaultValue = "100") float y,
             @RequestParam(value = "page", defaultValue = "1") int pageNum,
+            @RequestParam(value = "incremental", defaultValue = "false") boolean incremental,
             @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
-        PdfOperationResult result = pdfService.addSignature(pdfFile, signatureFile, x, y, pageNum, originalFilename);
+        PdfOperationResult result = pdfService.addSignature(pdfFile, signatureFile, x, y, pageNum, incremental, originalFilename);
         return ResponseEntity.ok(result);
     }
 
     @PostMapping("/redact")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
     public ResponseEntity<PdfOperationResult> redactText(
             @RequestParam("file") MultipartFile file,
             @RequestParam("x") float x,
@@ -119,6 +200,7 @@ public class PdfController {
     }
 
     @PostMapping("/redact-multiple")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
     public ResponseEntity<PdfOperationResult> redactMultiple(
             @RequestParam("file") MultipartFile file,
             @RequestParam("redactions") String redactionsJson,
@@ -127,7 +209,48 @@ public class PdfController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Redact every match of the given regular expressions, one per {@code patterns} field, e.g.
+     * {@code patterns=\d{3}-\d{3}-\d{4}} and {@code patterns=[\w.]+@[\w.]+}.
+     * The values are read from the request directly: binding a single value to a list
+     * would split it at commas, which are common in patterns.
+     */
+    @PostMapping("/redact-search")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
+    public ResponseEntity<RedactionSearchResult> redactMatches(
+            @RequestParam("file") MultipartFile file,
+            HttpServletRequest request,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
+        String[] patterns = request.getParameterValues("patterns");
+        RedactionSearchResult result = pdfService.redactMatches(file, 
+            patterns == null ? List.of() : Arrays.asList(patterns), originalFilename);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Apply several edits in one load/save cycle.
+     * {@code steps} is a JSON array of {@link PipelineStep}, e.g.
+     * {@code [{"operation":"remove","pages":[2]},{"operation":"watermark","text":"DRAFT"}]}
+     */
+    @PostMapping("/pipeline")
+    @OperationLimit(OperationLimiter.Kind.PROCESSING)
+    public ResponseEntity<PdfOperationResult> runPipeline(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("steps") String stepsJson,
+            @RequestParam(value = "signature", required = false) MultipartFile signatureFile,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
+        List<PipelineStep> steps;
+        try {
+            steps = PIPELINE_STEPS_READER.readValue(stepsJson);
+        } catch (Exception e) {
+            throw new PdfProcessingException("Invalid pipeline steps: " + e.getMessage(), e);
+        }
+        PdfOperationResult result = pdfService.runPipeline(file, steps, signatureFile, originalFilename);
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/convert/markdown")
+    @OperationLimit(OperationLimiter.Kind.CONVERSION)
     public ResponseEntity<PdfOperationResult> convertToMarkdown(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
@@ -135,7 +258,17 @@ public class PdfController {
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping(value = "/convert/markdown/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter convertToMarkdownWithProgress(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename)
+            throws CapacityExceededException, PdfProcessingException {
+        return progressStreams.stream(OperationLimiter.Kind.CONVERSION, List.of(file),
+            (spooled, progress) -> pdfService.convertToMarkdown(spooled.get(0), originalFilename, progress));
+    }
+
     @PostMapping("/convert/docx")
+    @OperationLimit(OperationLimiter.Kind.CONVERSION)
     public ResponseEntity<PdfOperationResult> convertToDocx(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "originalFilename", required = false) String originalFilename) throws PdfProcessingException {
@@ -143,23 +276,104 @@ public class PdfController {
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping(value = "/convert/docx/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter convertToDocxWithProgress(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename)
+            throws CapacityExceededException, PdfProcessingException {
+        return progressStreams.stream(OperationLimiter.Kind.CONVERSION, List.of(file),
+            (spooled, progress) -> pdfService.convertToDocx(spooled.get(0), originalFilename, progress));
+    }
+
     @PostMapping("/info")
+    @OperationLimit(OperationLimiter.Kind.IO)
     public ResponseEntity<PdfOperationResult> getPdfInfo(
             @RequestParam("file") MultipartFile file) throws PdfProcessingException {
         PdfOperationResult result = pdfService.getPdfInfo(file);
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/info/details")
+    @OperationLimit(OperationLimiter.Kind.IO)
+    public ResponseEntity<PdfInfo> getPdfDetails(
+            @RequestParam("file") MultipartFile file) throws PdfProcessingException {
+        return ResponseEntity.ok(pdfInfoService.getInfo(file));
+    }
+
+    /**
+     * Render page thumbnails ({@code pages}: comma-separated page numbers, all pages when
+     * omitted); the images are then fetched one by one from the GET endpoint below
+     */
+    @PostMapping("/thumbnails")
+    @OperationLimit(OperationLimiter.Kind.CONVERSION)
+    public ResponseEntity<ThumbnailResult> renderThumbnails(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "pages", required = false) String pages,
+            @RequestParam(value = "dpi", defaultValue = "72") int dpi) throws PdfProcessingException {
+        List<Integer> pageNumbers = pages == null || pages.isBlank() ? List.of() : Arrays.stream(pages.split(","))
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(renderService.renderThumbnails(file, pageNumbers, dpi));
+    }
+
+    /**
+     * A rendered thumbnail. Images are addressed by content hash, so clients may cache them
+     * indefinitely; 404 means the image was evicted and must be rendered again.
+     * <p>
+     * The content hash is the only credential: anyone who knows a document's hash can fetch
+     * its rendered pages here while they are cached. Responses are therefore marked private,
+     * so shared proxies and CDNs do not store them.
+     */
+    @GetMapping("/thumbnails/{documentId}/{page}")
+    @OperationLimit(OperationLimiter.Kind.IO)
+    public ResponseEntity<byte[]> getThumbnail(
+            @PathVariable String documentId,
+            @PathVariable int page,
+            @RequestParam(value = "dpi", defaultValue = "72") int dpi) throws PdfProcessingException {
+        byte[] image = renderService.getThumbnail(documentId, page, dpi);
+        if (image == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.IMAGE_PNG)
+            .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+            .eTag("\"" + documentId + "-" + page + "-" + dpi + "\"")
+            .body(image);
+    }
+
+    /**
+     * Stream a generated file from disk. Spring MVC answers Range requests for
+     * {@link Resource} bodies with 206 partial content and turns a matching
+     * If-None-Match / If-Modified-Since into 304 using the ETag and Last-Modified set here.
+     */
     @GetMapping("/download/{filename}")
-    public ResponseEntity<byte[]> downloadFile(@PathVariable String filename) 
-            throws PdfProcessingException {
-        byte[] fileContent = pdfService.downloadFile(filename);
+    @OperationLimit(OperationLimiter.Kind.IO)
+    public ResponseEntity<Resource> downloadFile(@PathVariable String filename) 
+            throws PdfProcessingException, IOException {
+        Path file = pdfService.resolveDownload(filename);
+        storageManager.touch(filename);
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
         headers.setContentDispositionFormData("attachment", filename);
+        headers.setETag("\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"");
+        headers.setLastModified(lastModified);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
         
-        return new ResponseEntity<>(fileContent, headers, HttpStatus.OK);
+        return new ResponseEntity<>(new FileSystemResource(file), headers, HttpStatus.OK);
+    }
+
+    @GetMapping("/fonts")
+    public ResponseEntity<List<String>> listFonts() {
+        return ResponseEntity.ok(fontRegistry.getFontNames());
+    }
+
+    @GetMapping("/storage")
+    public ResponseEntity<StorageUsage> storageUsage() {
+        return ResponseEntity.ok(storageManager.getUsage());
     }
 
     @GetMapping("/health")
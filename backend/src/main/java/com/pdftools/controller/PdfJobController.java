@@ -0,0 +1,93 @@
+package com.pdftools.controller;
+
+import com.pdftools.dto.PdfJob;
+import com.pdftools.exception.CapacityExceededException;
+import com.pdftools.exception.PdfProcessingException;
+import com.pdftools.service.PdfJobService;
+import com.pdftools.service.PdfService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * Asynchronous variants of the heavy PDF operations. Submissions return
+ * {@code 202 Accepted} with a job id; poll {@code GET /api/pdf/jobs/{id}} for the result.
+ */
+@RestController
+@RequestMapping("/api/pdf/jobs")
+public class PdfJobController {
+
+    @Autowired
+    private PdfJobService jobService;
+
+    @Autowired
+    private PdfService pdfService;
+
+    @PostMapping("/merge")
+    public ResponseEntity<PdfJob> mergePdfs(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename)
+            throws PdfProcessingException, CapacityExceededException {
+        PdfJob job = jobService.submit("merge", files,
+            spooled -> pdfService.mergePdfs(spooled, originalFilename));
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @PostMapping("/split")
+    public ResponseEntity<PdfJob> splitPdf(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "groups", required = false) String groups,
+            @RequestParam(value = "zip", defaultValue = "false") boolean zip,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename)
+            throws PdfProcessingException, CapacityExceededException {
+        PdfJob job = jobService.submit("split", List.of(file),
+            spooled -> pdfService.splitPdf(spooled.get(0), groups, zip, originalFilename));
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @PostMapping("/watermark")
+    public ResponseEntity<PdfJob> addWatermark(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("text") String watermarkText,
+            @RequestParam(value = "fontName", required = false) String fontName,
+            @RequestParam(value = "x", required = false) Float x,
+            @RequestParam(value = "y", required = false) Float y,
+            @RequestParam(value = "rotation", defaultValue = "45") float rotation,
+            @RequestParam(value = "opacity", defaultValue = "0.3") float opacity,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename)
+            throws PdfProcessingException, CapacityExceededException {
+        PdfJob job = jobService.submit("watermark", List.of(file),
+            spooled -> pdfService.addWatermark(spooled.get(0), watermarkText, fontName, x, y, rotation, opacity, originalFilename));
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @PostMapping("/convert/markdown")
+    public ResponseEntity<PdfJob> convertToMarkdown(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename)
+            throws PdfProcessingException, CapacityExceededException {
+        PdfJob job = jobService.submit("markdown", List.of(file),
+            spooled -> pdfService.convertToMarkdown(spooled.get(0), originalFilename));
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @PostMapping("/convert/docx")
+    public ResponseEntity<PdfJob> convertToDocx(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "originalFilename", required = false) String originalFilename)
+            throws PdfProcessingException, CapacityExceededException {
+        PdfJob job = jobService.submit("docx", List.of(file),
+            spooled -> pdfService.convertToDocx(spooled.get(0), originalFilename));
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PdfJob> getJob(@PathVariable String id) {
+        return jobService.getJob(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,106 @@
+package com.pdftools.dto;
+
+import java.util.Objects;
+
+public class BatchItemResult {
+
+    private int index;
+    private String filename;
+    private boolean success;
+    private String message;
+    private String outputFilename;
+    private PdfInfo info;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(boolean success, String message, String outputFilename) {
+        this.success = success;
+        this.message = message;
+        this.outputFilename = outputFilename;
+    }
+
+    /**
+     * Position of the file in the request, starting at 0
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getOutputFilename() {
+        return outputFilename;
+    }
+
+    public void setOutputFilename(String outputFilename) {
+        this.outputFilename = outputFilename;
+    }
+
+    /**
+     * Document details, only set by the info batch
+     */
+    public PdfInfo getInfo() {
+        return info;
+    }
+
+    public void setInfo(PdfInfo info) {
+        this.info = info;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchItemResult that = (BatchItemResult) o;
+        return index == that.index
+                && success == that.success
+                && Objects.equals(filename, that.filename)
+                && Objects.equals(message, that.message)
+                && Objects.equals(outputFilename, that.outputFilename)
+                && Objects.equals(info, that.info);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, filename, success, message, outputFilename, info);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemResult("
+                + "index=" + index
+                + ", filename=" + filename
+                + ", success=" + success
+                + ", message=" + message
+                + ", outputFilename=" + outputFilename
+                + ", info=" + info
+                + ")";
+    }
+}
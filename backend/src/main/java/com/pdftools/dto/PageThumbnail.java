@@ -0,0 +1,76 @@
+package com.pdftools.dto;
+
+import java.util.Objects;
+
+public class PageThumbnail {
+
+    private int page;
+    private int width;
+    private int height;
+
+    public PageThumbnail() {
+    }
+
+    public PageThumbnail(int page, int width, int height) {
+        this.page = page;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Page number, starting at 1
+     */
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    /**
+     * Image width in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    /**
+     * Image height in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageThumbnail that = (PageThumbnail) o;
+        return page == that.page
+                && width == that.width
+                && height == that.height;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(page, width, height);
+    }
+
+    @Override
+    public String toString() {
+        return "PageThumbnail("
+                + "page=" + page
+                + ", width=" + width
+                + ", height=" + height
+                + ")";
+    }
+}
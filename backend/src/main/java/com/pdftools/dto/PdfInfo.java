@@ -0,0 +1,170 @@
+package com.pdftools.dto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class PdfInfo {
+
+    private int pageCount;
+    private String pdfVersion;
+    private boolean encrypted;
+    private String title;
+    private String author;
+    private String producer;
+    private String creator;
+    private long fileSize;
+    private Map<String, Integer> pageSizes = new LinkedHashMap<>();
+    private List<String> fonts = List.of();
+    private int imageCount;
+    private double textDensity;
+
+    public PdfInfo() {
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(int pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public String getPdfVersion() {
+        return pdfVersion;
+    }
+
+    public void setPdfVersion(String pdfVersion) {
+        this.pdfVersion = pdfVersion;
+    }
+
+    public boolean isEncrypted() {
+        return encrypted;
+    }
+
+    public void setEncrypted(boolean encrypted) {
+        this.encrypted = encrypted;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getProducer() {
+        return producer;
+    }
+
+    public void setProducer(String producer) {
+        this.producer = producer;
+    }
+
+    public String getCreator() {
+        return creator;
+    }
+
+    public void setCreator(String creator) {
+        this.creator = creator;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    /**
+     * Number of pages per displayed size, keyed as "width x height" in points
+     */
+    public Map<String, Integer> getPageSizes() {
+        return pageSizes;
+    }
+
+    public void setPageSizes(Map<String, Integer> pageSizes) {
+        this.pageSizes = pageSizes;
+    }
+
+    public List<String> getFonts() {
+        return fonts;
+    }
+
+    public void setFonts(List<String> fonts) {
+        this.fonts = fonts;
+    }
+
+    public int getImageCount() {
+        return imageCount;
+    }
+
+    public void setImageCount(int imageCount) {
+        this.imageCount = imageCount;
+    }
+
+    /**
+     * Estimated share of pages carrying text (0 to 1), based on the fonts their resources reference
+     */
+    public double getTextDensity() {
+        return textDensity;
+    }
+
+    public void setTextDensity(double textDensity) {
+        this.textDensity = textDensity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PdfInfo that = (PdfInfo) o;
+        return pageCount == that.pageCount
+                && encrypted == that.encrypted
+                && fileSize == that.fileSize
+                && imageCount == that.imageCount
+                && Double.compare(textDensity, that.textDensity) == 0
+                && Objects.equals(pdfVersion, that.pdfVersion)
+                && Objects.equals(title, that.title)
+                && Objects.equals(author, that.author)
+                && Objects.equals(producer, that.producer)
+                && Objects.equals(creator, that.creator)
+                && Objects.equals(pageSizes, that.pageSizes)
+                && Objects.equals(fonts, that.fonts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pageCount, pdfVersion, encrypted, title, author, producer, creator, fileSize,
+                pageSizes, fonts, imageCount, textDensity);
+    }
+
+    @Override
+    public String toString() {
+        return "PdfInfo("
+                + "pageCount=" + pageCount
+                + ", pdfVersion=" + pdfVersion
+                + ", encrypted=" + encrypted
+                + ", title=" + title
+                + ", author=" + author
+                + ", producer=" + producer
+                + ", creator=" + creator
+                + ", fileSize=" + fileSize
+                + ", pageSizes=" + pageSizes
+                + ", fonts=" + fonts
+                + ", imageCount=" + imageCount
+                + ", textDensity=" + textDensity
+                + ")";
+    }
+}
@@ -0,0 +1,109 @@
+package com.pdftools.dto;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public class PdfJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    private String id;
+    private String operation;
+    private Status status;
+    private PdfOperationResult result;
+    private Instant createdAt;
+    private Instant finishedAt;
+
+    public PdfJob() {
+    }
+
+    public PdfJob(String id, String operation, Status status, PdfOperationResult result,
+            Instant createdAt, Instant finishedAt) {
+        this.id = id;
+        this.operation = operation;
+        this.status = status;
+        this.result = result;
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public PdfOperationResult getResult() {
+        return result;
+    }
+
+    public void setResult(PdfOperationResult result) {
+        this.result = result;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PdfJob that = (PdfJob) o;
+        return Objects.equals(id, that.id)
+                && Objects.equals(operation, that.operation)
+                && status == that.status
+                && Objects.equals(result, that.result)
+                && Objects.equals(createdAt, that.createdAt)
+                && Objects.equals(finishedAt, that.finishedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, operation, status, result, createdAt, finishedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "PdfJob("
+                + "id=" + id
+                + ", operation=" + operation
+                + ", status=" + status
+                + ", result=" + result
+                + ", createdAt=" + createdAt
+                + ", finishedAt=" + finishedAt
+                + ")";
+    }
+}
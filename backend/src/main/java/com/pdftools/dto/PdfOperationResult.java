@@ -1,11 +1,13 @@
 package com.pdftools.dto;
 
+import java.util.List;
 import java.util.Objects;
 
 public class PdfOperationResult {
     private boolean success;
     private String message;
     private String outputFilename;
+    private List<Integer> imageOnlyPages;
 
     public PdfOperationResult() {
     }
@@ -40,6 +42,17 @@ public class PdfOperationResult {
         this.outputFilename = outputFilename;
     }
 
+    /**
+     * Pages without any text (1-based), only set by the Markdown and DOCX conversions
+     */
+    public List<Integer> getImageOnlyPages() {
+        return imageOnlyPages;
+    }
+
+    public void setImageOnlyPages(List<Integer> imageOnlyPages) {
+        this.imageOnlyPages = imageOnlyPages;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -47,12 +60,13 @@ public class PdfOperationResult {
         PdfOperationResult that = (PdfOperationResult) o;
         return success == that.success
                 && Objects.equals(message, that.message)
-                && Objects.equals(outputFilename, that.outputFilename);
+                && Objects.equals(outputFilename, that.outputFilename)
+                && Objects.equals(imageOnlyPages, that.imageOnlyPages);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(success, message, outputFilename);
+        return Objects.hash(success, message, outputFilename, imageOnlyPages);
     }
 
     @Override
@@ -61,6 +75,7 @@ public class PdfOperationResult {
                 + "success=" + success
                 + ", message=" + message
                 + ", outputFilename=" + outputFilename
+                + ", imageOnlyPages=" + imageOnlyPages
                 + ")";
     }
 }
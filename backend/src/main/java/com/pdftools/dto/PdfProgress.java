@@ -0,0 +1,51 @@
+package com.pdftools.dto;
+
+import java.util.Objects;
+
+public class PdfProgress {
+
+    private int processed;
+    private int total;
+
+    public PdfProgress() {
+    }
+
+    public PdfProgress(int processed, int total) {
+        this.processed = processed;
+        this.total = total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PdfProgress that = (PdfProgress) o;
+        return processed == that.processed && total == that.total;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(processed, total);
+    }
+
+    @Override
+    public String toString() {
+        return "PdfProgress(processed=" + processed + ", total=" + total + ")";
+    }
+}
@@ -0,0 +1,175 @@
+package com.pdftools.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One edit in a pipeline request. Which fields apply depends on the operation:
+ * <ul>
+ *   <li>{@code remove}: pages</li>
+ *   <li>{@code watermark}: text, fontName, x, y, rotation, opacity</li>
+ *   <li>{@code add-text}: text, x, y, page, fontSize, fontName, fontColor</li>
+ *   <li>{@code redact}: redactions ({@code [{x, y, width, height, pageNum}, ...]})</li>
+ *   <li>{@code add-signature}: x, y, page (the image is uploaded with the request)</li>
+ * </ul>
+ * Omitted values take the same defaults as the single-operation endpoints.
+ */
+public class PipelineStep {
+    private String operation;
+    private List<Integer> pages;
+    private String text;
+    private Float x;
+    private Float y;
+    private Float rotation;
+    private Float opacity;
+    private Integer page;
+    private Float fontSize;
+    private String fontName;
+    private String fontColor;
+    private List<RedactionArea> redactions;
+
+    public PipelineStep() {
+    }
+
+    public PipelineStep(String operation) {
+        this.operation = operation;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public List<Integer> getPages() {
+        return pages;
+    }
+
+    public void setPages(List<Integer> pages) {
+        this.pages = pages;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Float getX() {
+        return x;
+    }
+
+    public void setX(Float x) {
+        this.x = x;
+    }
+
+    public Float getY() {
+        return y;
+    }
+
+    public void setY(Float y) {
+        this.y = y;
+    }
+
+    public Float getRotation() {
+        return rotation;
+    }
+
+    public void setRotation(Float rotation) {
+        this.rotation = rotation;
+    }
+
+    public Float getOpacity() {
+        return opacity;
+    }
+
+    public void setOpacity(Float opacity) {
+        this.opacity = opacity;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Float getFontSize() {
+        return fontSize;
+    }
+
+    public void setFontSize(Float fontSize) {
+        this.fontSize = fontSize;
+    }
+
+    public String getFontName() {
+        return fontName;
+    }
+
+    public void setFontName(String fontName) {
+        this.fontName = fontName;
+    }
+
+    public String getFontColor() {
+        return fontColor;
+    }
+
+    public void setFontColor(String fontColor) {
+        this.fontColor = fontColor;
+    }
+
+    public List<RedactionArea> getRedactions() {
+        return redactions;
+    }
+
+    public void setRedactions(List<RedactionArea> redactions) {
+        this.redactions = redactions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PipelineStep that = (PipelineStep) o;
+        return Objects.equals(operation, that.operation)
+                && Objects.equals(pages, that.pages)
+                && Objects.equals(text, that.text)
+                && Objects.equals(x, that.x)
+                && Objects.equals(y, that.y)
+                && Objects.equals(rotation, that.rotation)
+                && Objects.equals(opacity, that.opacity)
+                && Objects.equals(page, that.page)
+                && Objects.equals(fontSize, that.fontSize)
+                && Objects.equals(fontName, that.fontName)
+                && Objects.equals(fontColor, that.fontColor)
+                && Objects.equals(redactions, that.redactions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operation, pages, text, x, y, rotation, opacity, page, fontSize, fontName, fontColor, redactions);
+    }
+
+    @Override
+    public String toString() {
+        return "PipelineStep("
+                + "operation=" + operation
+                + ", pages=" + pages
+                + ", text=" + text
+                + ", x=" + x
+                + ", y=" + y
+                + ", rotation=" + rotation
+                + ", opacity=" + opacity
+                + ", page=" + page
+                + ", fontSize=" + fontSize
+                + ", fontName=" + fontName
+                + ", fontColor=" + fontColor
+                + ", redactions=" + redactions
+                + ")";
+    }
+}
@@ -0,0 +1,102 @@
+package com.pdftools.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+/**
+ * One redaction box, in default user space of page {@code pageNum} (1-based).
+ * All five fields are required when read from JSON; a missing one does not default to 0.
+ */
+public class RedactionArea {
+    private float x;
+    private float y;
+    private float width;
+    private float height;
+    private int pageNum;
+
+    public RedactionArea() {
+    }
+
+    @JsonCreator
+    public RedactionArea(@JsonProperty(value = "x", required = true) float x,
+            @JsonProperty(value = "y", required = true) float y,
+            @JsonProperty(value = "width", required = true) float width,
+            @JsonProperty(value = "height", required = true) float height,
+            @JsonProperty(value = "pageNum", required = true) int pageNum) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.pageNum = pageNum;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public void setX(float x) {
+        this.x = x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public void setY(float y) {
+        this.y = y;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public void setWidth(float width) {
+        this.width = width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    public void setHeight(float height) {
+        this.height = height;
+    }
+
+    public int getPageNum() {
+        return pageNum;
+    }
+
+    public void setPageNum(int pageNum) {
+        this.pageNum = pageNum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RedactionArea that = (RedactionArea) o;
+        return Float.compare(x, that.x) == 0
+                && Float.compare(y, that.y) == 0
+                && Float.compare(width, that.width) == 0
+                && Float.compare(height, that.height) == 0
+                && pageNum == that.pageNum;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y, width, height, pageNum);
+    }
+
+    @Override
+    public String toString() {
+        return "RedactionArea("
+                + "x=" + x
+                + ", y=" + y
+                + ", width=" + width
+                + ", height=" + height
+                + ", pageNum=" + pageNum
+                + ")";
+    }
+}
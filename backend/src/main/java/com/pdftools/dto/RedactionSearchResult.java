@@ -0,0 +1,96 @@
+package com.pdftools.dto;
+
+import java.util.Map;
+import java.util.Objects;
+
+public class RedactionSearchResult {
+
+    private boolean success;
+    private String message;
+    private String outputFilename;
+    private int totalMatches;
+    private Map<Integer, Integer> matchesByPage;
+
+    public RedactionSearchResult() {
+    }
+
+    public RedactionSearchResult(boolean success, String message, String outputFilename,
+            Map<Integer, Integer> matchesByPage) {
+        this.success = success;
+        this.message = message;
+        this.outputFilename = outputFilename;
+        this.matchesByPage = matchesByPage;
+        this.totalMatches = matchesByPage.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getOutputFilename() {
+        return outputFilename;
+    }
+
+    public void setOutputFilename(String outputFilename) {
+        this.outputFilename = outputFilename;
+    }
+
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+
+    public void setTotalMatches(int totalMatches) {
+        this.totalMatches = totalMatches;
+    }
+
+    /**
+     * Number of redacted matches by page number (1-based); pages without matches are omitted
+     */
+    public Map<Integer, Integer> getMatchesByPage() {
+        return matchesByPage;
+    }
+
+    public void setMatchesByPage(Map<Integer, Integer> matchesByPage) {
+        this.matchesByPage = matchesByPage;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RedactionSearchResult that = (RedactionSearchResult) o;
+        return success == that.success
+                && totalMatches == that.totalMatches
+                && Objects.equals(message, that.message)
+                && Objects.equals(outputFilename, that.outputFilename)
+                && Objects.equals(matchesByPage, that.matchesByPage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(success, message, outputFilename, totalMatches, matchesByPage);
+    }
+
+    @Override
+    public String toString() {
+        return "RedactionSearchResult("
+                + "success=" + success
+                + ", message=" + message
+                + ", outputFilename=" + outputFilename
+                + ", totalMatches=" + totalMatches
+                + ", matchesByPage=" + matchesByPage
+                + ")";
+    }
+}
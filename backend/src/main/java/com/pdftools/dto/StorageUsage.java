@@ -0,0 +1,92 @@
+package com.pdftools.dto;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public class StorageUsage {
+
+    private int fileCount;
+    private long usedBytes;
+    private long maxBytes;
+    private long evictedFiles;
+    private Instant lastSweep;
+
+    public StorageUsage() {
+    }
+
+    public StorageUsage(int fileCount, long usedBytes, long maxBytes, long evictedFiles, Instant lastSweep) {
+        this.fileCount = fileCount;
+        this.usedBytes = usedBytes;
+        this.maxBytes = maxBytes;
+        this.evictedFiles = evictedFiles;
+        this.lastSweep = lastSweep;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(int fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public void setUsedBytes(long usedBytes) {
+        this.usedBytes = usedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getEvictedFiles() {
+        return evictedFiles;
+    }
+
+    public void setEvictedFiles(long evictedFiles) {
+        this.evictedFiles = evictedFiles;
+    }
+
+    public Instant getLastSweep() {
+        return lastSweep;
+    }
+
+    public void setLastSweep(Instant lastSweep) {
+        this.lastSweep = lastSweep;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StorageUsage that = (StorageUsage) o;
+        return fileCount == that.fileCount
+                && usedBytes == that.usedBytes
+                && maxBytes == that.maxBytes
+                && evictedFiles == that.evictedFiles
+                && Objects.equals(lastSweep, that.lastSweep);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fileCount, usedBytes, maxBytes, evictedFiles, lastSweep);
+    }
+
+    @Override
+    public String toString() {
+        return "StorageUsage("
+                + "fileCount=" + fileCount
+                + ", usedBytes=" + usedBytes
+                + ", maxBytes=" + maxBytes
+                + ", evictedFiles=" + evictedFiles
+                + ", lastSweep=" + lastSweep
+                + ")";
+    }
+}
@@ -0,0 +1,109 @@
+package com.pdftools.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+public class ThumbnailResult {
+
+    private boolean success;
+    private String message;
+    private String documentId;
+    private int pageCount;
+    private int dpi;
+    private List<PageThumbnail> thumbnails;
+
+    public ThumbnailResult() {
+    }
+
+    public ThumbnailResult(boolean success, String message, String documentId, int pageCount, int dpi,
+            List<PageThumbnail> thumbnails) {
+        this.success = success;
+        this.message = message;
+        this.documentId = documentId;
+        this.pageCount = pageCount;
+        this.dpi = dpi;
+        this.thumbnails = thumbnails;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Content hash of the upload; images are fetched from
+     * {@code /api/pdf/thumbnails/{documentId}/{page}?dpi={dpi}}
+     */
+    public String getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(String documentId) {
+        this.documentId = documentId;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(int pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public int getDpi() {
+        return dpi;
+    }
+
+    public void setDpi(int dpi) {
+        this.dpi = dpi;
+    }
+
+    public List<PageThumbnail> getThumbnails() {
+        return thumbnails;
+    }
+
+    public void setThumbnails(List<PageThumbnail> thumbnails) {
+        this.thumbnails = thumbnails;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ThumbnailResult that = (ThumbnailResult) o;
+        return success == that.success
+                && pageCount == that.pageCount
+                && dpi == that.dpi
+                && Objects.equals(message, that.message)
+                && Objects.equals(documentId, that.documentId)
+                && Objects.equals(thumbnails, that.thumbnails);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(success, message, documentId, pageCount, dpi, thumbnails);
+    }
+
+    @Override
+    public String toString() {
+        return "ThumbnailResult("
+                + "success=" + success
+                + ", message=" + message
+                + ", documentId=" + documentId
+                + ", pageCount=" + pageCount
+                + ", dpi=" + dpi
+                + ", thumbnails=" + thumbnails
+                + ")";
+    }
+}
@@ -0,0 +1,7 @@
+package com.pdftools.exception;
+
+public class CapacityExceededException extends Exception {
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,11 @@
 package com.pdftools.exception;
 
 import com.pdftools.dto.PdfOperationResult;
+import com.pdftools.service.PdfMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -16,18 +19,33 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    @Autowired
+    private PdfMetrics metrics;
+
     @ExceptionHandler(PdfProcessingException.class)
     public ResponseEntity<PdfOperationResult> handlePdfProcessingException(PdfProcessingException ex) {
         logger.error("PDF processing error: {}", ex.getMessage(), ex);
+        metrics.recordFailure(ex);
         return ResponseEntity
             .status(HttpStatus.BAD_REQUEST)
             .body(new PdfOperationResult(false, ex.getMessage(), null));
     }
 
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<PdfOperationResult> handleCapacityExceededException(CapacityExceededException ex) {
+        logger.warn("Request rejected: {}", ex.getMessage());
+        metrics.recordFailure(ex);
+        return ResponseEntity
+            .status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "5")
+            .body(new PdfOperationResult(false, ex.getMessage(), null));
+    }
+
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     public ResponseEntity<PdfOperationResult> handleMaxUploadSizeExceededException(
             MaxUploadSizeExceededException ex) {
         logger.error("File size exceeded: {}", ex.getMessage());
+        metrics.recordFailure(ex);
         return ResponseEntity
             .status(HttpStatus.PAYLOAD_TOO_LARGE)
             .body(new PdfOperationResult(false, 
@@ -37,6 +55,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MultipartException.class)
     public ResponseEntity<PdfOperationResult> handleMultipartException(MultipartException ex) {
         logger.error("Multipart error: {}", ex.getMessage(), ex);
+        metrics.recordFailure(ex);
         return ResponseEntity
             .status(HttpStatus.BAD_REQUEST)
             .body(new PdfOperationResult(false, 
@@ -47,6 +66,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<PdfOperationResult> handleMissingParams(
             MissingServletRequestParameterException ex) {
         logger.error("Missing parameter: {}", ex.getParameterName());
+        metrics.recordFailure(ex);
         return ResponseEntity
             .status(HttpStatus.BAD_REQUEST)
             .body(new PdfOperationResult(false, 
@@ -56,6 +76,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<PdfOperationResult> handleIllegalArgumentException(IllegalArgumentException ex) {
         logger.error("Invalid argument: {}", ex.getMessage(), ex);
+        metrics.recordFailure(ex);
         return ResponseEntity
             .status(HttpStatus.BAD_REQUEST)
             .body(new PdfOperationResult(false, 
@@ -65,6 +86,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<PdfOperationResult> handleGenericException(Exception ex) {
         logger.error("Unexpected error: {}", ex.getMessage(), ex);
+        metrics.recordFailure(ex);
         return ResponseEntity
             .status(HttpStatus.INTERNAL_SERVER_ERROR)
             .body(new PdfOperationResult(false, 
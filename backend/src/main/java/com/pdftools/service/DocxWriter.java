@@ -0,0 +1,217 @@
+package com.pdftools.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a DOCX package directly as a ZIP stream.
+ * <p>
+ * The package holds the minimum Word needs: content types, relationships, a
+ * style sheet with heading, list and table styles, and {@code word/document.xml}.
+ * The document body is streamed into its ZIP entry while it is produced, and the
+ * blocks of each page from {@link StructuredTextStripper} are rendered as
+ * WordprocessingML fragments independently of the rest of the document, so
+ * memory stays flat however many pages are converted.
+ */
+final class DocxWriter {
+
+    private static final String CONTENT_TYPES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+        <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+        <Default Extension="xml" ContentType="application/xml"/>\
+        <Override PartName="/word/document.xml" \
+        ContentType="application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml"/>\
+        <Override PartName="/word/styles.xml" \
+        ContentType="application/vnd.openxmlformats-officedocument.wordprocessingml.styles+xml"/>\
+        </Types>""";
+
+    private static final String PACKAGE_RELATIONSHIPS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+        <Relationship Id="rId1" \
+        Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+        Target="word/document.xml"/>\
+        </Relationships>""";
+
+    private static final String DOCUMENT_RELATIONSHIPS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+        <Relationship Id="rId1" \
+        Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles" \
+        Target="styles.xml"/>\
+        </Relationships>""";
+
+    private static final String STYLES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <w:styles xmlns:w="http://schemas.openxmlformats.org/wordprocessingml/2006/main">\
+        <w:docDefaults><w:rPrDefault><w:rPr><w:rFonts w:ascii="Calibri" w:hAnsi="Calibri" w:cs="Calibri"/>\
+        <w:sz w:val="22"/></w:rPr></w:rPrDefault>\
+        <w:pPrDefault><w:pPr><w:spacing w:after="160" w:line="259" w:lineRule="auto"/></w:pPr></w:pPrDefault>\
+        </w:docDefaults>\
+        <w:style w:type="paragraph" w:default="1" w:styleId="Normal"><w:name w:val="Normal"/></w:style>\
+        %s\
+        <w:style w:type="paragraph" w:styleId="ListParagraph"><w:name w:val="List Paragraph"/>\
+        <w:basedOn w:val="Normal"/><w:pPr><w:spacing w:after="40"/><w:ind w:left="720" w:hanging="360"/></w:pPr>\
+        </w:style>\
+        <w:style w:type="table" w:styleId="TableGrid"><w:name w:val="Table Grid"/><w:tblPr><w:tblBorders>\
+        <w:top w:val="single" w:sz="4" w:space="0" w:color="auto"/>\
+        <w:left w:val="single" w:sz="4" w:space="0" w:color="auto"/>\
+        <w:bottom w:val="single" w:sz="4" w:space="0" w:color="auto"/>\
+        <w:right w:val="single" w:sz="4" w:space="0" w:color="auto"/>\
+        <w:insideH w:val="single" w:sz="4" w:space="0" w:color="auto"/>\
+        <w:insideV w:val="single" w:sz="4" w:space="0" w:color="auto"/>\
+        </w:tblBorders></w:tblPr></w:style>\
+        </w:styles>""";
+
+    /** Font sizes of heading levels 1-4, in half points */
+    private static final int[] HEADING_SIZES = {32, 28, 24, 22};
+
+    private static final String DOCUMENT_START = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <w:document xmlns:w="http://schemas.openxmlformats.org/wordprocessingml/2006/main"><w:body>""";
+
+    private static final String DOCUMENT_END = "<w:sectPr/></w:body></w:document>";
+
+    /**
+     * Produces the body of the document
+     */
+    @FunctionalInterface
+    interface Body {
+        void write(Writer out) throws IOException;
+    }
+
+    private DocxWriter() {
+    }
+
+    /**
+     * Write a DOCX package to {@code target} whose body is streamed by {@code body}
+     */
+    static void write(Path target, Body body) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            writeEntry(zip, "[Content_Types].xml", CONTENT_TYPES);
+            writeEntry(zip, "_rels/.rels", PACKAGE_RELATIONSHIPS);
+            writeEntry(zip, "word/_rels/document.xml.rels", DOCUMENT_RELATIONSHIPS);
+            writeEntry(zip, "word/styles.xml", STYLES.formatted(headingStyles()));
+
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            Writer out = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+            out.write(DOCUMENT_START);
+            body.write(out);
+            out.write(DOCUMENT_END);
+            // Flush without closing: closing the writer would close the ZIP stream
+            out.flush();
+            zip.closeEntry();
+        }
+    }
+
+    /**
+     * Render the blocks of one page as body content
+     */
+    static void writePage(List<StructuredTextStripper.Block> blocks, Writer out) throws IOException {
+        for (StructuredTextStripper.Block block : blocks) {
+            switch (block.type()) {
+                case HEADING -> writeParagraph("Heading" + block.level(), block.text(), out);
+                case PARAGRAPH -> writeParagraph(null, block.text(), out);
+                case LIST_ITEM -> writeParagraph("ListParagraph",
+                    ("-".equals(block.marker()) ? "•" : block.marker()) + "\t" + block.text(), out);
+                case TABLE -> writeTable(block.rows(), out);
+            }
+        }
+    }
+
+    private static void writeParagraph(String style, String text, Writer out) throws IOException {
+        out.write("<w:p>");
+        if (style != null) {
+            out.write("<w:pPr><w:pStyle w:val=\"" + style + "\"/></w:pPr>");
+        }
+        writeRun(text, out);
+        out.write("</w:p>");
+    }
+
+    private static void writeTable(List<List<String>> rows, Writer out) throws IOException {
+        out.write("<w:tbl><w:tblPr><w:tblStyle w:val=\"TableGrid\"/><w:tblW w:w=\"0\" w:type=\"auto\"/></w:tblPr>");
+        out.write("<w:tblGrid>");
+        for (int i = 0; i < rows.get(0).size(); i++) {
+            out.write("<w:gridCol/>");
+        }
+        out.write("</w:tblGrid>");
+        for (List<String> row : rows) {
+            out.write("<w:tr>");
+            for (String cell : row) {
+                out.write("<w:tc><w:p><w:pPr><w:spacing w:after=\"0\"/></w:pPr>");
+                writeRun(cell, out);
+                out.write("</w:p></w:tc>");
+            }
+            out.write("</w:tr>");
+        }
+        out.write("</w:tbl>");
+    }
+
+    /**
+     * A text run; tabs become Word tab elements
+     */
+    private static void writeRun(String text, Writer out) throws IOException {
+        out.write("<w:r>");
+        String[] segments = text.split("\t", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                out.write("<w:tab/>");
+            }
+            if (!segments[i].isEmpty()) {
+                out.write("<w:t xml:space=\"preserve\">");
+                writeEscaped(segments[i], out);
+                out.write("</w:t>");
+            }
+        }
+        out.write("</w:r>");
+    }
+
+    /**
+     * Escape XML markup and drop characters that are not allowed in XML 1.0
+     */
+    private static void writeEscaped(String text, Writer out) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.write("&lt;");
+                case '>' -> out.write("&gt;");
+                case '&' -> out.write("&amp;");
+                case '"' -> out.write("&quot;");
+                default -> {
+                    if (c >= 0x20 && c != 0xFFFE && c != 0xFFFF || c == '\n' || c == '\r') {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String headingStyles() {
+        StringBuilder styles = new StringBuilder();
+        for (int level = 1; level <= HEADING_SIZES.length; level++) {
+            styles.append("<w:style w:type=\"paragraph\" w:styleId=\"Heading").append(level).append("\">")
+                .append("<w:name w:val=\"heading ").append(level).append("\"/>")
+                .append("<w:basedOn w:val=\"Normal\"/><w:next w:val=\"Normal\"/><w:qFormat/>")
+                .append("<w:pPr><w:keepNext/><w:spacing w:before=\"240\" w:after=\"80\"/>")
+                .append("<w:outlineLvl w:val=\"").append(level - 1).append("\"/></w:pPr>")
+                .append("<w:rPr><w:b/><w:sz w:val=\"").append(HEADING_SIZES[level - 1]).append("\"/></w:rPr>")
+                .append("</w:style>");
+        }
+        return styles.toString();
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,188 @@
+package com.pdftools.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.fontbox.ttf.OTFParser;
+import org.apache.fontbox.ttf.OpenTypeFont;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves font names for text stamping to PDFBox fonts.
+ * <p>
+ * TrueType and OpenType (TrueType outline) fonts placed in {@code pdf.fonts.dir}
+ * are registered under their file name without extension. Each font file is parsed
+ * once per process and the parsed {@link TrueTypeFont} is shared; every document
+ * embeds its own subset, so outputs only carry the glyphs they use. Names that are
+ * not registered fall back to the Standard 14 fonts.
+ * <p>
+ * Fonts embedded in a document are cached by a {@link DocumentFonts} that lives for
+ * one operation. An embedded font holds its document, so the registry itself keeps
+ * no reference to any document.
+ */
+@Component
+public class FontRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(FontRegistry.class);
+
+    private final Map<String, File> fontFiles = new HashMap<>();
+    private final Map<String, TrueTypeFont> parsedFonts = new ConcurrentHashMap<>();
+
+    public FontRegistry() {
+        this("");
+    }
+
+    @Autowired
+    public FontRegistry(@Value("${pdf.fonts.dir}") String fontsDir) {
+        if (fontsDir == null || fontsDir.isBlank()) {
+            return;
+        }
+        File[] files = new File(fontsDir).listFiles(File::isFile);
+        if (files == null) {
+            logger.warn("Font directory {} does not exist", fontsDir);
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".ttf") || lower.endsWith(".otf")) {
+                fontFiles.put(lower.substring(0, lower.length() - 4), file);
+            }
+        }
+        logger.info("Registered {} fonts from {}", fontFiles.size(), fontsDir);
+    }
+
+    /**
+     * Names of the registered fonts, as accepted by {@link #getFont}
+     */
+    public List<String> getFontNames() {
+        List<String> names = new ArrayList<>();
+        for (File file : fontFiles.values()) {
+            String name = file.getName();
+            names.add(name.substring(0, name.length() - 4));
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Font cache for one operation on {@code document}; drop it when the operation ends
+     */
+    public DocumentFonts forDocument(PDDocument document) {
+        return new DocumentFonts(document);
+    }
+
+    private PDFont createFont(PDDocument document, String key, Standard14Fonts.FontName fallback) 
+            throws IOException {
+        File file = fontFiles.get(key);
+        if (file != null) {
+            return PDType0Font.load(document, getParsedFont(key, file), true);
+        }
+        Standard14Fonts.FontName standard = fallback;
+        try {
+            standard = Standard14Fonts.FontName.valueOf(key.toUpperCase(Locale.ROOT).replace("-", "_"));
+        } catch (IllegalArgumentException ignored) {
+            // Use the fallback if the name is not a Standard 14 font
+        }
+        return new PDType1Font(standard);
+    }
+
+    private TrueTypeFont getParsedFont(String key, File file) throws IOException {
+        try {
+            return parsedFonts.computeIfAbsent(key, k -> {
+                try {
+                    return parse(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private TrueTypeFont parse(File file) throws IOException {
+        if (!file.getName().toLowerCase(Locale.ROOT).endsWith(".otf")) {
+            return new TTFParser().parse(new RandomAccessReadBufferedFile(file));
+        }
+        OpenTypeFont font = new OTFParser().parse(new RandomAccessReadBufferedFile(file));
+        if (font.isPostScript()) {
+            font.close();
+            throw new IOException("OpenType fonts with CFF outlines cannot be embedded: " + file.getName());
+        }
+        return font;
+    }
+
+    /**
+     * Fonts already added to one document, so repeated stamps reuse one embedded subset
+     */
+    public final class DocumentFonts {
+
+        private final PDDocument document;
+        private final Map<String, PDFont> fonts = new HashMap<>();
+
+        private DocumentFonts(PDDocument document) {
+            this.document = document;
+        }
+
+        /**
+         * Font called {@code fontName}: a registered font (embedded as a subset),
+         * else the matching Standard 14 font, else {@code fallback}
+         */
+        public synchronized PDFont getFont(String fontName, Standard14Fonts.FontName fallback) throws IOException {
+            String key = (fontName == null ? fallback.name() : fontName).toLowerCase(Locale.ROOT);
+            PDFont font = fonts.get(key);
+            if (font == null) {
+                font = createFont(document, key, fallback);
+                fonts.put(key, font);
+            }
+            return font;
+        }
+
+        /**
+         * Embed the subsets of the registered fonts used so far. {@link PDDocument#save}
+         * does this itself, but {@link PDDocument#saveIncremental} does not, so call
+         * this once before an incremental save.
+         */
+        public synchronized void subset() throws IOException {
+            for (PDFont font : fonts.values()) {
+                if (font.willBeSubset()) {
+                    font.subset();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (TrueTypeFont font : parsedFonts.values()) {
+            try {
+                font.close();
+            } catch (IOException ignored) {
+                // Closing only releases the font file handle
+            }
+        }
+        parsedFonts.clear();
+    }
+}
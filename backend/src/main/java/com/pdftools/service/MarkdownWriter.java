@@ -0,0 +1,76 @@
+package com.pdftools.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Renders the blocks of a page produced by {@link StructuredTextStripper} as Markdown.
+ * Every page is rendered independently, so chunks of pages can be written in parallel
+ * and concatenated.
+ */
+final class MarkdownWriter {
+
+    private MarkdownWriter() {
+    }
+
+    static void writePage(List<StructuredTextStripper.Block> blocks, Writer out) throws IOException {
+        boolean inList = false;
+        for (StructuredTextStripper.Block block : blocks) {
+            boolean listItem = block.type() == StructuredTextStripper.BlockType.LIST_ITEM;
+            if (inList && !listItem) {
+                out.write('\n');
+            }
+            inList = listItem;
+
+            switch (block.type()) {
+                case HEADING -> {
+                    out.write("#".repeat(block.level()));
+                    out.write(' ');
+                    out.write(block.text());
+                    out.write("\n\n");
+                }
+                case PARAGRAPH -> {
+                    out.write(block.text());
+                    out.write("\n\n");
+                }
+                case LIST_ITEM -> {
+                    out.write(block.marker());
+                    out.write(' ');
+                    out.write(block.text());
+                    out.write('\n');
+                }
+                case TABLE -> writeTable(block.rows(), out);
+            }
+        }
+        if (inList) {
+            out.write('\n');
+        }
+    }
+
+    /**
+     * The first row becomes the header row, as Markdown tables require one
+     */
+    private static void writeTable(List<List<String>> rows, Writer out) throws IOException {
+        writeRow(rows.get(0), out);
+        out.write('|');
+        for (int i = 0; i < rows.get(0).size(); i++) {
+            out.write(" --- |");
+        }
+        out.write('\n');
+        for (List<String> row : rows.subList(1, rows.size())) {
+            writeRow(row, out);
+        }
+        out.write('\n');
+    }
+
+    private static void writeRow(List<String> cells, Writer out) throws IOException {
+        out.write('|');
+        for (String cell : cells) {
+            out.write(' ');
+            out.write(cell.replace("|", "\\|"));
+            out.write(" |");
+        }
+        out.write('\n');
+    }
+}
@@ -0,0 +1,160 @@
+package com.pdftools.service;
+
+import com.pdftools.exception.CapacityExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many requests of each kind run at the same time.
+ * <p>
+ * Requests are served on virtual threads, so the container no longer bounds
+ * concurrency; without a limit a burst of conversions would take every CPU and
+ * slow down cheap calls such as downloads and info lookups. Each {@link Kind} has
+ * its own fair semaphore. A request waits up to the configured time for a permit
+ * and is then rejected with {@link CapacityExceededException}. Time spent waiting
+ * is recorded as {@code pdf.limiter.queue}, tagged with the kind and whether a
+ * permit was obtained.
+ */
+@Component
+public class OperationLimiter {
+
+    /**
+     * Cost class of an operation
+     */
+    public enum Kind {
+        /** Text extraction and document conversion, CPU bound */
+        CONVERSION,
+        /** Loading, editing and saving documents */
+        PROCESSING,
+        /** Metadata lookups and downloads of existing outputs */
+        IO;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Kind, Semaphore> permits = new EnumMap<>(Kind.class);
+    private final Duration maxWait;
+
+    public OperationLimiter() {
+        this(new SimpleMeterRegistry(), 4, 16, 256, 10_000);
+    }
+
+    @Autowired
+    public OperationLimiter(MeterRegistry registry,
+            @Value("${pdf.limits.conversion.max-concurrent}") int maxConversions,
+            @Value("${pdf.limits.processing.max-concurrent}") int maxProcessing,
+            @Value("${pdf.limits.io.max-concurrent}") int maxIo,
+            @Value("${pdf.limits.max-wait-ms}") long maxWaitMs) {
+        this.registry = registry;
+        this.maxWait = Duration.ofMillis(maxWaitMs);
+        register(Kind.CONVERSION, maxConversions);
+        register(Kind.PROCESSING, maxProcessing);
+        register(Kind.IO, maxIo);
+    }
+
+    private void register(Kind kind, int limit) {
+        Semaphore semaphore = new Semaphore(Math.max(1, limit), true);
+        int capacity = semaphore.availablePermits();
+        permits.put(kind, semaphore);
+        Gauge.builder("pdf.limiter.active", semaphore, s -> capacity - s.availablePermits())
+            .tag("kind", kind.tag())
+            .description("Requests holding a permit")
+            .register(registry);
+        Gauge.builder("pdf.limiter.waiting", semaphore, Semaphore::getQueueLength)
+            .tag("kind", kind.tag())
+            .description("Requests waiting for a permit")
+            .register(registry);
+    }
+
+    /**
+     * Wait for a permit of the given kind; close the returned permit when the request completes
+     */
+    public Permit acquire(Kind kind) throws CapacityExceededException {
+        Semaphore semaphore = permits.get(kind);
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        recordWait(kind, acquired, start);
+
+        if (!acquired) {
+            throw new CapacityExceededException("Too many " + kind.tag() + " requests in progress. Please retry later.");
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * Wait up to {@code timeout} for a permit of the given kind. Used for work that has
+     * already been accepted, such as the files of a batch, which may queue longer than
+     * a request; interrupting the waiting thread cancels the wait.
+     */
+    public Permit await(Kind kind, Duration timeout) throws CapacityExceededException, InterruptedException {
+        Semaphore semaphore = permits.get(kind);
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = semaphore.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } finally {
+            recordWait(kind, acquired, start);
+        }
+
+        if (!acquired) {
+            throw new CapacityExceededException("Timed out waiting for a " + kind.tag() + " permit");
+        }
+        return new Permit(semaphore);
+    }
+
+    private void recordWait(Kind kind, boolean acquired, long start) {
+        Timer.builder("pdf.limiter.queue")
+            .tag("kind", kind.tag())
+            .tag("outcome", acquired ? "acquired" : "rejected")
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Permits currently free for {@code kind}
+     */
+    public int getAvailable(Kind kind) {
+        return permits.get(kind).availablePermits();
+    }
+
+    /**
+     * Held permit; closing it more than once releases it only once
+     */
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,682 @@
+package com.pdftools.service;
+
+import org.apache.pdfbox.contentstream.PDFGraphicsStreamEngine;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.OperatorName;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSFloat;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdfwriter.ContentStreamWriter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDTransparencyGroup;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImage;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.graphics.state.PDTextState;
+import org.apache.pdfbox.util.Matrix;
+import org.apache.pdfbox.util.Vector;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Removes the content under redaction areas from a single page.
+ * <p>
+ * The page's content stream is interpreted once to find what each operator paints.
+ * Glyphs whose box intersects an area are cut out of their text-showing operator and
+ * replaced by a positioning adjustment of the same width, so the remaining text keeps
+ * its place. Image XObjects get the covered pixels blacked out in a page-local copy,
+ * and the same pixels cleared in their soft mask, which would otherwise keep the shape
+ * of the removed content; inline images and images that cannot be decoded are dropped. The content stream is
+ * then rewritten from its tokens in one pass and a black box is drawn over every area.
+ * <p>
+ * Form XObjects can be shared with other pages. A form whose bounding box reaches into
+ * an area is interpreted with its matrix applied and, if anything in it is covered,
+ * redacted into a page-local copy drawn under a new name; nested forms are handled the
+ * same way. Each use of a form gets its own copy, since the covered part differs.
+ */
+class PageRedactor extends PDFGraphicsStreamEngine {
+
+    private static final float DEFAULT_ASCENT = 0.8f;
+    private static final float DEFAULT_DESCENT = -0.2f;
+
+    /**
+     * Rewritten page or form: the new content stream, the replacement images by resource
+     * name and the redacted form copies by the new resource name they are drawn under
+     */
+    record Result(byte[] content, Map<COSName, EncodedImage> images, Map<COSName, FormCopy> forms) {
+    }
+
+    /**
+     * Redacted copy of the form registered as {@code original} in the enclosing resources
+     */
+    record FormCopy(COSName original, Result result) {
+    }
+
+    /**
+     * Image stream parameters and encoded data, independent of any document, with the
+     * edited soft mask or null if the image has none or it could not be decoded
+     */
+    record EncodedImage(COSDictionary parameters, byte[] data, EncodedImage softMask) {
+    }
+
+    /**
+     * Decoded copy of an image and of its soft mask, null if the mask is absent or unreadable
+     */
+    private record ImageEdit(BufferedImage pixels, boolean jpeg, BufferedImage mask) {
+    }
+
+    private record FormEdit(COSName original, PDFormXObject form, StreamEdit edit) {
+    }
+
+    @FunctionalInterface
+    private interface FormProcessing {
+        void run() throws IOException;
+    }
+
+    private final float[] areas;
+
+    private StreamEdit current = new StreamEdit();
+    private int nesting;
+    private int formCopies;
+    private TextRun currentRun;
+    private PDDocument scratch;
+
+    private PageRedactor(PDPage page, float[] areas) {
+        super(page);
+        this.areas = areas;
+    }
+
+    /**
+     * Redact {@code areas} (in default user space, as {@code minX, minY, maxX, maxY}
+     * quadruples) on {@code page}. The page itself is not modified; the caller installs
+     * the result.
+     */
+    static Result redact(PDPage page, float[] areas) throws IOException {
+        PageRedactor redactor = new PageRedactor(page, areas);
+        try {
+            redactor.processPage(page);
+            return redactor.result(redactor.current, new PDFStreamParser(page).parse(), true);
+        } finally {
+            if (redactor.scratch != null) {
+                redactor.scratch.close();
+            }
+        }
+    }
+
+    @Override
+    protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+        // Operators such as ' and " call nested operators: only count the operators of
+        // the content stream being rewritten itself
+        if (nesting == 0) {
+            current.operatorIndex++;
+            current.operator = operator;
+            current.operands = operands;
+        }
+        nesting++;
+        try {
+            super.processOperator(operator, operands);
+        } finally {
+            nesting--;
+        }
+    }
+
+    @Override
+    public void showForm(PDFormXObject form) throws IOException {
+        redactForm(form, () -> super.showForm(form));
+    }
+
+    @Override
+    public void showTransparencyGroup(PDTransparencyGroup form) throws IOException {
+        redactForm(form, () -> super.showTransparencyGroup(form));
+    }
+
+    /**
+     * Interpret a form drawn by the current operator as a stream of its own and, if any of
+     * its content is covered, record a redacted copy to be drawn in its place
+     */
+    private void redactForm(PDFormXObject form, FormProcessing processing) throws IOException {
+        AffineTransform formToPage = getGraphicsState().getCurrentTransformationMatrix().createAffineTransform();
+        formToPage.concatenate(form.getMatrix().createAffineTransform());
+        PDRectangle bbox = form.getBBox();
+        if (bbox != null && !isCovered(transform(formToPage, bbox.getLowerLeftX(), bbox.getLowerLeftY(),
+                bbox.getUpperRightX(), bbox.getUpperRightY()))) {
+            // Everything the form paints is clipped to its bounding box
+            return;
+        }
+        StreamEdit parent = current;
+        if (!OperatorName.DRAW_OBJECT.equals(parent.operator.getName()) || parent.operands.isEmpty()
+                || !(parent.operands.get(0) instanceof COSName original)) {
+            throw new IOException("Cannot redact a form that is not drawn by name");
+        }
+
+        StreamEdit edit = new StreamEdit();
+        int parentNesting = nesting;
+        current = edit;
+        nesting = 0;
+        try {
+            processing.run();
+        } finally {
+            current = parent;
+            nesting = parentNesting;
+        }
+        if (edit.isChanged()) {
+            COSName copy = copyName();
+            parent.forms.put(copy, new FormEdit(original, form, edit));
+            parent.formCopies.put(parent.operatorIndex, copy);
+        }
+    }
+
+    /**
+     * XObject name for a form copy that is not used in the current resources
+     */
+    private COSName copyName() {
+        PDResources resources = getResources();
+        COSDictionary xobjects = resources == null ? null : resources.getCOSObject().getCOSDictionary(COSName.XOBJECT);
+        COSName name;
+        do {
+            name = COSName.getPDFName("RedactedForm" + ++formCopies);
+        } while (xobjects != null && xobjects.containsKey(name));
+        return name;
+    }
+
+    @Override
+    protected void showText(byte[] string) throws IOException {
+        currentRun = new TextRun(string, getGraphicsState().getTextState().getFont());
+        current.textRuns.computeIfAbsent(current.operatorIndex, index -> new ArrayList<>()).add(currentRun);
+        try {
+            super.showText(string);
+        } finally {
+            currentRun = null;
+        }
+    }
+
+    @Override
+    protected void showGlyph(Matrix textRenderingMatrix, PDFont font, int code, Vector displacement) {
+        // Type 3 glyph procedures are deliberately not run: only the glyph box matters
+        if (currentRun == null) {
+            return;
+        }
+        boolean vertical = font.isVertical();
+        float width = vertical ? displacement.getY() : displacement.getX();
+        float[] extent = verticalExtent(font);
+        Rectangle2D glyph = vertical
+            ? transform(textRenderingMatrix.createAffineTransform(), -0.5f, Math.min(width, 0), 0.5f, Math.max(width, 0))
+            : transform(textRenderingMatrix.createAffineTransform(), 0, extent[0], width, extent[1]);
+
+        // Width of the glyph as a TJ adjustment, including character and word spacing
+        PDTextState state = getGraphicsState().getTextState();
+        float fontSize = state.getFontSize();
+        float advance = width * fontSize + state.getCharacterSpacing();
+        if (code == 32 && currentRun.isSingleByte(currentRun.glyphs)) {
+            advance += state.getWordSpacing();
+        }
+        float adjustment = fontSize == 0 ? 0 : -advance * 1000 / fontSize;
+        currentRun.add(adjustment, isCovered(glyph));
+    }
+
+    @Override
+    public void drawImage(PDImage image) throws IOException {
+        AffineTransform ctm = getGraphicsState().getCurrentTransformationMatrix().createAffineTransform();
+        Rectangle2D imageBounds = transform(ctm, 0, 0, 1, 1);
+        List<Rectangle2D> covered = new ArrayList<>();
+        for (int i = 0; i < areas.length; i += 4) {
+            if (overlaps(i, imageBounds)) {
+                covered.add(new Rectangle2D.Float(areas[i], areas[i + 1],
+                    areas[i + 2] - areas[i], areas[i + 3] - areas[i + 1]));
+            }
+        }
+        if (covered.isEmpty()) {
+            return;
+        }
+        if (image instanceof PDImageXObject xobject && !xobject.isStencil()
+                && OperatorName.DRAW_OBJECT.equals(current.operator.getName())
+                && !current.operands.isEmpty() && current.operands.get(0) instanceof COSName name) {
+            try {
+                blackOut(name, xobject, ctm, covered);
+                return;
+            } catch (IOException | NoninvertibleTransformException | RuntimeException e) {
+                // Fall back to removing the image
+            }
+        }
+        current.removedOperators.add(current.operatorIndex);
+    }
+
+    private void blackOut(COSName name, PDImageXObject xobject, AffineTransform ctm, List<Rectangle2D> covered)
+            throws IOException, NoninvertibleTransformException {
+        ImageEdit edit = current.imageEdits.get(name);
+        if (edit == null) {
+            BufferedImage original = xobject.getImage();
+            int type = original.getType() == BufferedImage.TYPE_BYTE_GRAY
+                || original.getType() == BufferedImage.TYPE_BYTE_BINARY
+                ? original.getType() : BufferedImage.TYPE_INT_RGB;
+            BufferedImage pixels = new BufferedImage(original.getWidth(), original.getHeight(), type);
+            Graphics2D graphics = pixels.createGraphics();
+            graphics.drawImage(original, 0, 0, null);
+            graphics.dispose();
+            edit = new ImageEdit(pixels, "jpg".equals(xobject.getSuffix()) && type != BufferedImage.TYPE_BYTE_BINARY,
+                softMask(xobject));
+            current.imageEdits.put(name, edit);
+        }
+
+        AffineTransform toUnitSquare = ctm.createInverse();
+        fill(edit.pixels(), toUnitSquare, covered);
+        if (edit.mask() != null) {
+            // Black in a soft mask is fully transparent
+            fill(edit.mask(), toUnitSquare, covered);
+        }
+    }
+
+    /**
+     * Grey copy of the soft mask of {@code xobject}, or null if it has none or it cannot be decoded
+     */
+    private static BufferedImage softMask(PDImageXObject xobject) {
+        try {
+            PDImageXObject softMask = xobject.getSoftMask();
+            if (softMask == null) {
+                return null;
+            }
+            BufferedImage original = softMask.getImage();
+            BufferedImage mask = new BufferedImage(original.getWidth(), original.getHeight(),
+                BufferedImage.TYPE_BYTE_GRAY);
+            Graphics2D graphics = mask.createGraphics();
+            graphics.drawImage(original, 0, 0, null);
+            graphics.dispose();
+            return mask;
+        } catch (IOException | RuntimeException e) {
+            // Dropped when the edit is installed
+            return null;
+        }
+    }
+
+    /**
+     * Black out the pixels of {@code image} under the covered areas, mapped to the unit square the image is drawn into
+     */
+    private static void fill(BufferedImage image, AffineTransform toUnitSquare, List<Rectangle2D> covered) {
+        // Images are drawn into the unit square; image rows run top to bottom
+        int width = image.getWidth();
+        int height = image.getHeight();
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLACK);
+        for (Rectangle2D area : covered) {
+            Rectangle2D unit = toUnitSquare.createTransformedShape(area).getBounds2D();
+            int x0 = (int) Math.floor(unit.getMinX() * width);
+            int x1 = (int) Math.ceil(unit.getMaxX() * width);
+            int y0 = (int) Math.floor((1 - unit.getMaxY()) * height);
+            int y1 = (int) Math.ceil((1 - unit.getMinY()) * height);
+            graphics.fillRect(x0, y0, x1 - x0, y1 - y0);
+        }
+        graphics.dispose();
+    }
+
+    private boolean isCovered(Rectangle2D box) {
+        for (int i = 0; i < areas.length; i += 4) {
+            if (overlaps(i, box)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Overlap test of the area starting at index {@code area} that, unlike {@link Rectangle2D#intersects}, accepts zero-width boxes
+     */
+    private boolean overlaps(int area, Rectangle2D box) {
+        return box.getMaxX() > areas[area] && box.getMinX() < areas[area + 2]
+            && box.getMaxY() > areas[area + 1] && box.getMinY() < areas[area + 3];
+    }
+
+    /**
+     * Descent and ascent of the glyphs of {@code font}, in text space units
+     */
+    static float[] verticalExtent(PDFont font) {
+        float ascent = DEFAULT_ASCENT;
+        float descent = DEFAULT_DESCENT;
+        PDFontDescriptor descriptor = font.getFontDescriptor();
+        if (descriptor != null) {
+            ascent = descriptor.getAscent() > 0 ? descriptor.getAscent() / 1000 : ascent;
+            descent = descriptor.getDescent() < 0 ? descriptor.getDescent() / 1000 : descent;
+        }
+        return new float[] {descent, ascent};
+    }
+
+    /**
+     * Bounds of the rectangle (x0, y0)-(x1, y1) after {@code transform}
+     */
+    static Rectangle2D transform(AffineTransform transform, float x0, float y0, float x1, float y1) {
+        Point2D.Float[] corners = {
+            new Point2D.Float(x0, y0), new Point2D.Float(x1, y0),
+            new Point2D.Float(x1, y1), new Point2D.Float(x0, y1)
+        };
+        Rectangle2D box = null;
+        for (Point2D.Float corner : corners) {
+            Point2D point = transform.transform(corner, null);
+            if (box == null) {
+                box = new Rectangle2D.Double(point.getX(), point.getY(), 0, 0);
+            } else {
+                box.add(point);
+            }
+        }
+        return box;
+    }
+
+    /**
+     * Rewrite a page ({@code page}) or form content stream from its tokens, with the
+     * redacted copies of the forms it draws
+     */
+    private Result result(StreamEdit edit, List<Object> tokens, boolean page) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ContentStreamWriter writer = new ContentStreamWriter(content);
+        if (page) {
+            writer.writeTokens(Operator.getOperator(OperatorName.SAVE));
+        }
+        writeContent(edit, tokens, writer);
+        if (page) {
+            writer.writeTokens(Operator.getOperator(OperatorName.RESTORE));
+            writeBoxes(writer);
+        }
+
+        Map<COSName, FormCopy> forms = new LinkedHashMap<>();
+        for (Map.Entry<COSName, FormEdit> entry : edit.forms.entrySet()) {
+            FormEdit form = entry.getValue();
+            forms.put(entry.getKey(), new FormCopy(form.original(),
+                result(form.edit(), new PDFStreamParser(form.form()).parse(), false)));
+        }
+        return new Result(content.toByteArray(), encodeImages(edit), forms);
+    }
+
+    private static void writeContent(StreamEdit edit, List<Object> tokens, ContentStreamWriter writer)
+            throws IOException {
+        List<Object> operands = new ArrayList<>();
+        int index = 0;
+        for (Object token : tokens) {
+            if (!(token instanceof Operator operator)) {
+                operands.add(token);
+                continue;
+            }
+            int current = index++;
+            List<TextRun> runs = edit.textRuns.get(current);
+            COSName formCopy = edit.formCopies.get(current);
+            if (edit.removedOperators.contains(current)) {
+                // Dropped with its operands
+            } else if (runs != null && runs.stream().anyMatch(run -> run.hit)) {
+                writeRedactedText(operator, operands, runs, writer);
+            } else if (formCopy != null) {
+                writer.writeTokens(formCopy, operator);
+            } else {
+                operands.add(operator);
+                writer.writeTokens(operands);
+            }
+            operands.clear();
+        }
+    }
+
+    /**
+     * Rewrite a text-showing operator as TJ with the covered glyphs replaced by adjustments
+     */
+    private static void writeRedactedText(Operator operator, List<Object> operands, List<TextRun> runs,
+            ContentStreamWriter writer) throws IOException {
+        COSArray array = new COSArray();
+        switch (operator.getName()) {
+            case OperatorName.SHOW_TEXT -> runs.get(0).appendTo(array);
+            case OperatorName.SHOW_TEXT_LINE -> {
+                writer.writeTokens(Operator.getOperator(OperatorName.NEXT_LINE));
+                runs.get(0).appendTo(array);
+            }
+            case OperatorName.SHOW_TEXT_LINE_AND_SPACE -> {
+                writer.writeTokens(operands.get(0), Operator.getOperator(OperatorName.SET_WORD_SPACING),
+                    operands.get(1), Operator.getOperator(OperatorName.SET_CHAR_SPACING),
+                    Operator.getOperator(OperatorName.NEXT_LINE));
+                runs.get(0).appendTo(array);
+            }
+            case OperatorName.SHOW_TEXT_ADJUSTED -> {
+                int run = 0;
+                for (COSBase element : (COSArray) operands.get(0)) {
+                    if (element instanceof COSString && run < runs.size()) {
+                        runs.get(run++).appendTo(array);
+                    } else if (element instanceof COSNumber) {
+                        array.add(element);
+                    }
+                }
+            }
+            default -> {
+                // Not a text-showing operator: leave nothing of it behind
+                return;
+            }
+        }
+        writer.writeTokens(array, Operator.getOperator(OperatorName.SHOW_TEXT_ADJUSTED));
+    }
+
+    private void writeBoxes(ContentStreamWriter writer) throws IOException {
+        writer.writeTokens(Operator.getOperator(OperatorName.SAVE));
+        writer.writeTokens(COSFloat.ZERO, COSFloat.ZERO, COSFloat.ZERO,
+            Operator.getOperator(OperatorName.NON_STROKING_RGB));
+        for (int i = 0; i < areas.length; i += 4) {
+            writer.writeTokens(new COSFloat(areas[i]), new COSFloat(areas[i + 1]),
+                new COSFloat(areas[i + 2] - areas[i]), new COSFloat(areas[i + 3] - areas[i + 1]),
+                Operator.getOperator(OperatorName.APPEND_RECT));
+        }
+        writer.writeTokens(Operator.getOperator(OperatorName.FILL_NON_ZERO));
+        writer.writeTokens(Operator.getOperator(OperatorName.RESTORE));
+    }
+
+    /**
+     * Encode the edited images of a stream in a scratch document and detach the results from it
+     */
+    private Map<COSName, EncodedImage> encodeImages(StreamEdit edit) throws IOException {
+        if (edit.imageEdits.isEmpty()) {
+            return Map.of();
+        }
+        if (scratch == null) {
+            scratch = new PDDocument();
+        }
+        Map<COSName, EncodedImage> encoded = new LinkedHashMap<>();
+        for (Map.Entry<COSName, ImageEdit> entry : edit.imageEdits.entrySet()) {
+            ImageEdit image = entry.getValue();
+            PDImageXObject xobject = image.jpeg()
+                ? JPEGFactory.createFromImage(scratch, image.pixels(), 0.9f)
+                : LosslessFactory.createFromImage(scratch, image.pixels());
+            EncodedImage softMask = image.mask() == null
+                ? null : detach(LosslessFactory.createFromImage(scratch, image.mask()), null);
+            encoded.put(entry.getKey(), detach(xobject, softMask));
+        }
+        return encoded;
+    }
+
+    private static EncodedImage detach(PDImageXObject xobject, EncodedImage softMask) throws IOException {
+        COSStream stream = xobject.getStream().getCOSObject();
+        COSDictionary parameters = new COSDictionary();
+        for (Map.Entry<COSName, COSBase> parameter : stream.entrySet()) {
+            if (!COSName.LENGTH.equals(parameter.getKey()) && !(parameter.getValue() instanceof COSObject)) {
+                parameters.setItem(parameter.getKey(), parameter.getValue());
+            }
+        }
+        try (InputStream in = stream.createRawInputStream()) {
+            return new EncodedImage(parameters, in.readAllBytes(), softMask);
+        }
+    }
+
+    /**
+     * Edits to one content stream, the page's or a form's, keyed by operator index
+     */
+    private static final class StreamEdit {
+        private final Map<Integer, List<TextRun>> textRuns = new HashMap<>();
+        private final Set<Integer> removedOperators = new HashSet<>();
+        private final Map<COSName, ImageEdit> imageEdits = new LinkedHashMap<>();
+        private final Map<Integer, COSName> formCopies = new HashMap<>();
+        private final Map<COSName, FormEdit> forms = new LinkedHashMap<>();
+        private int operatorIndex = -1;
+        private Operator operator;
+        private List<COSBase> operands = List.of();
+
+        boolean isChanged() {
+            return !removedOperators.isEmpty() || !imageEdits.isEmpty() || !forms.isEmpty()
+                || textRuns.values().stream().flatMap(List::stream).anyMatch(run -> run.hit);
+        }
+    }
+
+    /**
+     * One string shown by a text operator, split into character codes as the font reads them
+     */
+    private static final class TextRun {
+        private final byte[] bytes;
+        private final int[] codeEnds;
+        private final float[] adjustments;
+        private final boolean[] hits;
+        private int glyphs;
+        private float totalAdjustment;
+        private boolean hit;
+
+        TextRun(byte[] bytes, PDFont font) {
+            this.bytes = bytes;
+            this.codeEnds = splitCodes(bytes, font);
+            this.adjustments = new float[codeEnds.length];
+            this.hits = new boolean[codeEnds.length];
+        }
+
+        private static int[] splitCodes(byte[] bytes, PDFont font) {
+            if (font == null) {
+                return new int[0];
+            }
+            List<Integer> ends = new ArrayList<>();
+            try (InputStream in = new ByteArrayInputStream(bytes)) {
+                while (in.available() > 0) {
+                    font.readCode(in);
+                    ends.add(bytes.length - in.available());
+                }
+            } catch (IOException e) {
+                return new int[0];
+            }
+            return ends.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        boolean isSingleByte(int glyph) {
+            return glyph < codeEnds.length && codeEnds[glyph] - (glyph == 0 ? 0 : codeEnds[glyph - 1]) == 1;
+        }
+
+        void add(float adjustment, boolean covered) {
+            if (glyphs < codeEnds.length) {
+                adjustments[glyphs] = adjustment;
+                hits[glyphs] = covered;
+            }
+            glyphs++;
+            totalAdjustment += adjustment;
+            hit |= covered;
+        }
+
+        void appendTo(COSArray array) {
+            if (!hit) {
+                array.add(new COSString(bytes));
+                return;
+            }
+            if (glyphs != codeEnds.length) {
+                // Codes could not be matched to glyphs: drop the whole string, keep its width
+                array.add(new COSFloat(totalAdjustment));
+                return;
+            }
+            int keptFrom = 0;
+            float gap = 0;
+            for (int glyph = 0; glyph < glyphs; glyph++) {
+                int start = glyph == 0 ? 0 : codeEnds[glyph - 1];
+                if (hits[glyph]) {
+                    if (keptFrom < start) {
+                        array.add(new COSString(Arrays.copyOfRange(bytes, keptFrom, start)));
+                    }
+                    gap += adjustments[glyph];
+                    keptFrom = codeEnds[glyph];
+                } else if (gap != 0) {
+                    array.add(new COSFloat(gap));
+                    gap = 0;
+                }
+            }
+            if (keptFrom < bytes.length) {
+                array.add(new COSString(Arrays.copyOfRange(bytes, keptFrom, bytes.length)));
+            }
+            if (gap != 0) {
+                array.add(new COSFloat(gap));
+            }
+        }
+    }
+
+    // Path construction and painting do not affect redaction
+
+    @Override
+    public void appendRectangle(Point2D p0, Point2D p1, Point2D p2, Point2D p3) {
+    }
+
+    @Override
+    public void clip(int windingRule) {
+    }
+
+    @Override
+    public void moveTo(float x, float y) {
+    }
+
+    @Override
+    public void lineTo(float x, float y) {
+    }
+
+    @Override
+    public void curveTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+    }
+
+    @Override
+    public Point2D getCurrentPoint() {
+        return new Point2D.Float();
+    }
+
+    @Override
+    public void closePath() {
+    }
+
+    @Override
+    public void endPath() {
+    }
+
+    @Override
+    public void strokePath() {
+    }
+
+    @Override
+    public void fillPath(int windingRule) {
+    }
+
+    @Override
+    public void fillAndStrokePath(int windingRule) {
+    }
+
+    @Override
+    public void shadingFill(COSName shadingName) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.pdftools.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Extracts text in page-range chunks on the {@link PdfWorkerPool}.
+ * <p>
+ * Every chunk opens its own view of the spooled source file and runs a fresh
+ * {@link PDFTextStripper} limited to its pages. Documents that fit in a single
+ * chunk are extracted directly from the already open document.
+ * <p>
+ * Output is streamed instead of collected as strings: each chunk writes to a
+ * temporary file next to the source, and the chunk files are appended to the
+ * output in page order, so memory use does not grow with the document.
+ */
+@Component
+public class ParallelTextExtractor {
+
+    private static final int DEFAULT_PAGES_PER_CHUNK = 50;
+
+    /**
+     * Writes the text of a page range of {@code document} to {@code out}
+     */
+    @FunctionalInterface
+    public interface ChunkWriter {
+        void write(PDDocument document, int firstPage, int lastPage, Writer out) throws IOException;
+    }
+
+    private final PdfDocumentLoader documentLoader;
+    private final PdfWorkerPool workerPool;
+    private final int pagesPerChunk;
+
+    public ParallelTextExtractor(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool) {
+        this(documentLoader, workerPool, DEFAULT_PAGES_PER_CHUNK);
+    }
+
+    @Autowired
+    public ParallelTextExtractor(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool,
+            @Value("${pdf.text.pages-per-chunk}") int pagesPerChunk) {
+        this.documentLoader = documentLoader;
+        this.workerPool = workerPool;
+        this.pagesPerChunk = Math.max(1, pagesPerChunk);
+    }
+
+    /**
+     * Write the pages of {@code document}, which must have been opened from {@code source},
+     * to {@code out} in page order
+     */
+    public void writeTo(PDDocument document, Path source, Writer out, ChunkWriter writer) throws IOException {
+        int pageCount = document.getNumberOfPages();
+        if (pageCount <= pagesPerChunk || workerPool.getParallelism() == 1) {
+            writer.write(document, 1, pageCount, out);
+            return;
+        }
+
+        List<Path> chunkFiles = Collections.synchronizedList(new ArrayList<>());
+        try {
+            List<Callable<Path>> chunks = new ArrayList<>();
+            for (int start = 1; start <= pageCount; start += pagesPerChunk) {
+                int first = start;
+                int last = Math.min(pageCount, start + pagesPerChunk - 1);
+                chunks.add(() -> {
+                    Path chunkFile = Files.createTempFile(source.toAbsolutePath().getParent(), "chunk-", ".txt");
+                    chunkFiles.add(chunkFile);
+                    try (PDDocument view = documentLoader.open(source);
+                            Writer chunkOut = Files.newBufferedWriter(chunkFile, StandardCharsets.UTF_8)) {
+                        writer.write(view, first, last, chunkOut);
+                    }
+                    return chunkFile;
+                });
+            }
+
+            for (Path chunkFile : workerPool.invokeAll(chunks)) {
+                try (Reader in = Files.newBufferedReader(chunkFile, StandardCharsets.UTF_8)) {
+                    in.transferTo(out);
+                }
+            }
+        } finally {
+            for (Path chunkFile : chunkFiles) {
+                Files.deleteIfExists(chunkFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.pdftools.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pdftools.dto.BatchItemResult;
+import com.pdftools.exception.CapacityExceededException;
+import com.pdftools.exception.PdfProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Applies one operation to many uploads and streams the per-file results.
+ * <p>
+ * Uploads are spooled while the request is being handled, so they survive into
+ * the streamed response. Files are then processed on a bounded pool of virtual
+ * threads and every result is written as soon as it completes, in completion
+ * order: either as one JSON line per file, or as a ZIP that receives each output
+ * file when it is ready and ends with a {@code results.ndjson} entry. A failure
+ * affects only its own file.
+ * <p>
+ * Each file holds an {@link OperationLimiter} permit of the operation's kind while it
+ * is processed, so batches share the same per-kind caps as single requests. A file
+ * that cannot get a permit within {@code pdf.batch.max-wait-ms} fails on its own, and
+ * files still waiting are cancelled when the client goes away.
+ */
+@Service
+public class PdfBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfBatchService.class);
+
+    private static final String RESULTS_ENTRY = "results.ndjson";
+
+    /**
+     * How results are streamed back
+     */
+    public enum Format {
+        NDJSON,
+        ZIP;
+
+        public static Format parse(String value) throws PdfProcessingException {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new PdfProcessingException("Unsupported batch format: " + value);
+            }
+        }
+    }
+
+    /**
+     * Operation applied to each file of a batch
+     */
+    @FunctionalInterface
+    public interface BatchTask {
+        BatchItemResult run(MultipartFile file) throws PdfProcessingException;
+    }
+
+    @FunctionalInterface
+    private interface ResultSink {
+        void accept(BatchItemResult item) throws IOException;
+    }
+
+    private final PdfDocumentLoader documentLoader;
+    private final PdfService pdfService;
+    private final OperationLimiter limiter;
+    private final int parallelism;
+    private final int maxFiles;
+    private final Duration maxWait;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public PdfBatchService(PdfDocumentLoader documentLoader, PdfService pdfService) {
+        this(documentLoader, pdfService, new OperationLimiter(), 4, 500);
+    }
+
+    public PdfBatchService(PdfDocumentLoader documentLoader, PdfService pdfService, OperationLimiter limiter,
+            int parallelism, int maxFiles) {
+        this(documentLoader, pdfService, limiter, parallelism, maxFiles, 600_000);
+    }
+
+    @Autowired
+    public PdfBatchService(PdfDocumentLoader documentLoader, PdfService pdfService, OperationLimiter limiter,
+            @Value("${pdf.batch.parallelism}") int parallelism,
+            @Value("${pdf.batch.max-files}") int maxFiles,
+            @Value("${pdf.batch.max-wait-ms}") long maxWaitMs) {
+        this.documentLoader = documentLoader;
+        this.pdfService = pdfService;
+        this.limiter = limiter;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxFiles = maxFiles;
+        this.maxWait = Duration.ofMillis(maxWaitMs);
+    }
+
+    /**
+     * Spool the uploads of a batch so they can be processed after the request returns
+     */
+    public List<SpooledMultipartFile> spool(List<MultipartFile> files) throws PdfProcessingException {
+        if (files.isEmpty()) {
+            throw new PdfProcessingException("No files in batch");
+        }
+        if (files.size() > maxFiles) {
+            throw new PdfProcessingException("Too many files in batch: " + files.size() + " (max " + maxFiles + ")");
+        }
+        List<SpooledMultipartFile> spooled = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                spooled.add(new SpooledMultipartFile(documentLoader.spool(file), file));
+            }
+            return spooled;
+        } catch (IOException e) {
+            deleteAll(spooled);
+            throw new PdfProcessingException("Failed to read batch: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run {@code task} on every file, each under a permit of {@code kind}, and stream the
+     * results to {@code out}. The spooled files are deleted once the batch is finished.
+     */
+    public void write(List<SpooledMultipartFile> files, OperationLimiter.Kind kind, BatchTask task,
+            Format format, OutputStream out) throws IOException {
+        if (format == Format.ZIP) {
+            writeZip(files, kind, task, out);
+        } else {
+            writeNdjson(files, kind, task, out);
+        }
+    }
+
+    private void writeNdjson(List<SpooledMultipartFile> files, OperationLimiter.Kind kind, BatchTask task,
+            OutputStream out) throws IOException {
+        run(files, kind, task, item -> {
+            writeLine(item, out);
+            out.flush();
+        });
+    }
+
+    private void writeZip(List<SpooledMultipartFile> files, OperationLimiter.Kind kind, BatchTask task,
+            OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        zip.setLevel(Deflater.BEST_SPEED);
+        List<BatchItemResult> items = new ArrayList<>();
+        Set<String> entries = new HashSet<>();
+
+        run(files, kind, task, item -> {
+            items.add(item);
+            // Identical uploads can share one cached output, which is only added once
+            String output = item.getOutputFilename();
+            if (item.isSuccess() && output != null && entries.add(output)) {
+                try {
+                    zip.putNextEntry(new ZipEntry(output));
+                    Files.copy(pdfService.resolveDownload(output), zip);
+                    zip.closeEntry();
+                } catch (PdfProcessingException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+            zip.flush();
+        });
+
+        zip.putNextEntry(new ZipEntry(RESULTS_ENTRY));
+        for (BatchItemResult item : items) {
+            writeLine(item, zip);
+        }
+        zip.closeEntry();
+        zip.finish();
+        out.flush();
+    }
+
+    private void writeLine(BatchItemResult item, OutputStream out) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(item));
+        out.write('\n');
+    }
+
+    /**
+     * Process the files with bounded parallelism, handing each result to {@code sink}
+     * on the calling thread as soon as it is available
+     */
+    private void run(List<SpooledMultipartFile> files, OperationLimiter.Kind kind, BatchTask task,
+            ResultSink sink) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, files.size()),
+            Thread.ofVirtual().name("pdf-batch-", 0).factory());
+        try {
+            CompletionService<BatchItemResult> completion = new ExecutorCompletionService<>(executor);
+            for (int i = 0; i < files.size(); i++) {
+                int index = i;
+                completion.submit(() -> runItem(index, files.get(index), kind, task));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                sink.accept(completion.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for batch results");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Stops outstanding work if the client went away before the batch finished
+            executor.shutdownNow();
+            deleteAll(files);
+        }
+    }
+
+    private BatchItemResult runItem(int index, MultipartFile file, OperationLimiter.Kind kind, BatchTask task) {
+        BatchItemResult item;
+        try (OperationLimiter.Permit permit = limiter.await(kind, maxWait)) {
+            item = task.run(file);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            item = new BatchItemResult(false, "Batch cancelled", null);
+        } catch (CapacityExceededException | PdfProcessingException e) {
+            item = new BatchItemResult(false, e.getMessage(), null);
+        } catch (RuntimeException e) {
+            logger.error("Batch item {} ({}) failed unexpectedly: {}", index, file.getOriginalFilename(),
+                e.getMessage(), e);
+            item = new BatchItemResult(false,
+                "An unexpected error occurred while processing this file.", null);
+        }
+        item.setIndex(index);
+        item.setFilename(file.getOriginalFilename());
+        return item;
+    }
+
+    private void deleteAll(List<SpooledMultipartFile> files) {
+        for (SpooledMultipartFile file : files) {
+            try {
+                file.delete();
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled upload {}: {}", file.getPath(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.pdftools.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.io.RandomAccessReadView;
+import org.apache.pdfbox.io.RandomAccessStreamCache;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Opens uploaded PDFs from disk instead of materializing them as heap byte arrays.
+ * <p>
+ * Uploads are spooled into a scratch directory (for multipart uploads this is a
+ * rename of the container's temp file) and PDFBox reads them through a
+ * {@link RandomAccessRead} over that file. Streams created while processing are
+ * buffered according to a {@link MemoryUsageSetting}, which spills to scratch
+ * files once the configured main-memory budget is used up.
+ */
+@Component
+public class PdfDocumentLoader {
+
+    private static final long DEFAULT_MAX_MAIN_MEMORY_BYTES = 16L * 1024 * 1024;
+
+    private final File scratchDir;
+    private final long maxMainMemoryBytes;
+    private final long maxStorageBytes;
+    private final boolean memoryMapped;
+
+    public PdfDocumentLoader() {
+        this(new File(System.getProperty("java.io.tmpdir"), "pdf-scratch").getPath(),
+            DEFAULT_MAX_MAIN_MEMORY_BYTES, -1, "buffered");
+    }
+
+    @Autowired
+    public PdfDocumentLoader(
+            @Value("${pdf.loader.scratch-dir}") String scratchDir,
+            @Value("${pdf.loader.max-main-memory-bytes}") long maxMainMemoryBytes,
+            @Value("${pdf.loader.max-storage-bytes}") long maxStorageBytes,
+            @Value("${pdf.loader.read-mode}") String readMode) {
+        this.scratchDir = new File(scratchDir);
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        this.maxStorageBytes = maxStorageBytes;
+        this.memoryMapped = "mapped".equalsIgnoreCase(readMode.trim());
+    }
+
+    /**
+     * Spool an upload to the scratch directory and open it. The spooled copy is
+     * deleted when the returned document is closed.
+     */
+    public PDDocument load(MultipartFile file) throws IOException {
+        Path spooled = spool(file);
+        try {
+            return open(spooled, true);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+    }
+
+    /**
+     * Open a PDF that already lives on disk. The file is left in place on close.
+     */
+    public PDDocument open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * Move an upload into the scratch directory without reading it into memory.
+     * The caller owns the returned file and must delete it when done.
+     */
+    public Path spool(MultipartFile file) throws IOException {
+        Path target = getScratchDir().toPath().resolve("upload-" + UUID.randomUUID() + ".pdf");
+        file.transferTo(target.toFile());
+        return target;
+    }
+
+    /**
+     * Create an empty document that buffers its streams with the configured memory policy
+     */
+    public PDDocument createDocument() {
+        return new PDDocument(this::createStreamCache);
+    }
+
+    /**
+     * Stream cache factory honouring the configured main-memory and scratch-file limits
+     */
+    public RandomAccessStreamCache createStreamCache() throws IOException {
+        MemoryUsageSetting setting = maxMainMemoryBytes > 0
+            ? MemoryUsageSetting.setupMixed(maxMainMemoryBytes, maxStorageBytes)
+            : MemoryUsageSetting.setupTempFileOnly(maxStorageBytes);
+        return new ScratchFile(setting.setTempDir(getScratchDir()));
+    }
+
+    /**
+     * Bytes currently held in the scratch directory by spooled uploads and scratch files
+     */
+    public long getScratchUsage() {
+        File[] files = scratchDir.listFiles(File::isFile);
+        long total = 0;
+        if (files != null) {
+            for (File file : files) {
+                total += file.length();
+            }
+        }
+        return total;
+    }
+
+    private PDDocument open(Path path, boolean deleteOnClose) throws IOException {
+        RandomAccessRead source = memoryMapped
+            ? new RandomAccessReadMemoryMappedFile(path)
+            : new RandomAccessReadBufferedFile(path);
+        if (deleteOnClose) {
+            source = new DeleteOnCloseRead(source, path);
+        }
+        try {
+            return Loader.loadPDF(source, this::createStreamCache);
+        } catch (IOException e) {
+            IOUtils.closeQuietly(source);
+            throw e;
+        }
+    }
+
+    private File getScratchDir() throws IOException {
+        if (!scratchDir.exists() && !scratchDir.mkdirs() && !scratchDir.isDirectory()) {
+            throw new IOException("Cannot create scratch directory " + scratchDir);
+        }
+        return scratchDir;
+    }
+
+    /**
+     * Source wrapper that removes the spooled file once PDFBox closes the document
+     */
+    private static final class DeleteOnCloseRead implements RandomAccessRead {
+        private final RandomAccessRead delegate;
+        private final Path path;
+
+        DeleteOnCloseRead(RandomAccessRead delegate, Path path) {
+            this.delegate = delegate;
+            this.path = path;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int offset, int length) throws IOException {
+            return delegate.read(b, offset, length);
+        }
+
+        @Override
+        public long getPosition() throws IOException {
+            return delegate.getPosition();
+        }
+
+        @Override
+        public void seek(long position) throws IOException {
+            delegate.seek(position);
+        }
+
+        @Override
+        public long length() throws IOException {
+            return delegate.length();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return delegate.isClosed();
+        }
+
+        @Override
+        public boolean isEOF() throws IOException {
+            return delegate.isEOF();
+        }
+
+        @Override
+        public RandomAccessReadView createView(long startPosition, long streamLength) throws IOException {
+            return delegate.createView(startPosition, streamLength);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
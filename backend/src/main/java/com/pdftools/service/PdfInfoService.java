@@ -0,0 +1,202 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.PdfInfo;
+import com.pdftools.exception.PdfProcessingException;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reads structured document information without touching page content.
+ * <p>
+ * PDFBox parses the trailer and cross-reference table when the document is opened
+ * and resolves every other object on first access. This service only walks the
+ * page tree and the resource dictionaries hanging off it (fonts, image and form
+ * XObjects), so content streams, images and embedded font programs are never
+ * decoded. Results are cached by the SHA-256 of the upload, which lets clients ask
+ * for the details of every upload without paying for a second parse.
+ */
+@Service
+public class PdfInfoService {
+
+    private static final int DEFAULT_CACHE_ENTRIES = 500;
+
+    private final PdfDocumentLoader documentLoader;
+    private final PdfMetrics metrics;
+    private final int cacheEntries;
+
+    private final LinkedHashMap<String, PdfInfo> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    public PdfInfoService() {
+        this(new PdfDocumentLoader(), new PdfMetrics(), DEFAULT_CACHE_ENTRIES);
+    }
+
+    @Autowired
+    public PdfInfoService(PdfDocumentLoader documentLoader, PdfMetrics metrics,
+            @Value("${pdf.info.cache-entries}") int cacheEntries) {
+        this.documentLoader = documentLoader;
+        this.metrics = metrics;
+        this.cacheEntries = cacheEntries;
+    }
+
+    /**
+     * Page count, page sizes, encryption, version, document information, fonts,
+     * image count and an estimated text density for {@code file}
+     */
+    public PdfInfo getInfo(MultipartFile file) throws PdfProcessingException {
+        try {
+            String key = ResultCache.digest(file, "info");
+            PdfInfo cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            // Read before loading: spooled uploads are moved away when they are opened
+            long fileSize = file.getSize();
+            PdfInfo info;
+            try (PdfMetrics.Operation op = metrics.start("info-details", file);
+                    PDDocument document = op.load(() -> documentLoader.load(file))) {
+                info = op.complete(readInfo(document));
+            }
+            info.setFileSize(fileSize);
+            store(key, info);
+            return info;
+        } catch (Exception e) {
+            throw new PdfProcessingException("Failed to get PDF info: " + e.getMessage(), e);
+        }
+    }
+
+    private PdfInfo readInfo(PDDocument document) {
+        PdfInfo info = new PdfInfo();
+        info.setPageCount(document.getNumberOfPages());
+        info.setPdfVersion(String.valueOf(document.getVersion()));
+        info.setEncrypted(document.isEncrypted());
+
+        PDDocumentInformation documentInformation = document.getDocumentInformation();
+        info.setTitle(documentInformation.getTitle());
+        info.setAuthor(documentInformation.getAuthor());
+        info.setProducer(documentInformation.getProducer());
+        info.setCreator(documentInformation.getCreator());
+
+        Map<String, Integer> pageSizes = new LinkedHashMap<>();
+        ResourceScan scan = new ResourceScan();
+        int textPages = 0;
+        for (PDPage page : document.getPages()) {
+            pageSizes.merge(sizeLabel(page), 1, Integer::sum);
+            PDResources resources = page.getResources();
+            if (resources != null && scan.usesFonts(resources.getCOSObject())) {
+                textPages++;
+            }
+        }
+
+        info.setPageSizes(pageSizes);
+        info.setFonts(new ArrayList<>(scan.fonts));
+        info.setImageCount(scan.images.size());
+        info.setTextDensity(info.getPageCount() == 0 ? 0 : (double) textPages / info.getPageCount());
+        return info;
+    }
+
+    /**
+     * Page size as displayed, i.e. with the page rotation applied, rounded to whole points
+     */
+    private static String sizeLabel(PDPage page) {
+        PDRectangle box = page.getMediaBox();
+        boolean rotated = page.getRotation() % 180 != 0;
+        long width = Math.round(rotated ? box.getHeight() : box.getWidth());
+        long height = Math.round(rotated ? box.getWidth() : box.getHeight());
+        return width + "x" + height;
+    }
+
+    private synchronized PdfInfo lookup(String key) {
+        return cache.get(key);
+    }
+
+    private synchronized void store(String key, PdfInfo info) {
+        cache.put(key, info);
+        while (cache.size() > cacheEntries) {
+            cache.remove(cache.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Collects font names and image XObjects from resource dictionaries, descending
+     * into form XObjects. Resource dictionaries shared between pages are scanned once.
+     */
+    private static final class ResourceScan {
+        private final Set<String> fonts = new TreeSet<>();
+        private final Set<COSBase> images = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<COSDictionary, Boolean> scanned = new IdentityHashMap<>();
+
+        boolean usesFonts(COSDictionary resources) {
+            if (resources == null) {
+                return false;
+            }
+            Boolean known = scanned.get(resources);
+            if (known != null) {
+                return known;
+            }
+            // Guards against forms that (indirectly) reference their own resources
+            scanned.put(resources, false);
+
+            boolean hasFonts = false;
+            COSDictionary fontDict = resources.getCOSDictionary(COSName.FONT);
+            if (fontDict != null) {
+                for (COSName name : fontDict.keySet()) {
+                    if (fontDict.getDictionaryObject(name) instanceof COSDictionary font) {
+                        hasFonts = true;
+                        String baseFont = font.getNameAsString(COSName.BASE_FONT);
+                        if (baseFont != null) {
+                            fonts.add(stripSubsetTag(baseFont));
+                        }
+                    }
+                }
+            }
+
+            COSDictionary xObjects = resources.getCOSDictionary(COSName.XOBJECT);
+            if (xObjects != null) {
+                for (COSName name : xObjects.keySet()) {
+                    if (!(xObjects.getDictionaryObject(name) instanceof COSStream xObject)) {
+                        continue;
+                    }
+                    COSName subtype = xObject.getCOSName(COSName.SUBTYPE);
+                    if (COSName.IMAGE.equals(subtype)) {
+                        images.add(xObject);
+                    } else if (COSName.FORM.equals(subtype)
+                            && usesFonts(xObject.getCOSDictionary(COSName.RESOURCES))) {
+                        hasFonts = true;
+                    }
+                }
+            }
+
+            scanned.put(resources, hasFonts);
+            return hasFonts;
+        }
+
+        /**
+         * Embedded subsets are named "ABCDEF+FontName"; report the font name only
+         */
+        private static String stripSubsetTag(String baseFont) {
+            int plus = baseFont.indexOf('+');
+            return plus == 6 ? baseFont.substring(plus + 1) : baseFont;
+        }
+    }
+}
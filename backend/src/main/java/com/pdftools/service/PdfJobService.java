@@ -0,0 +1,189 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.PdfJob;
+import com.pdftools.dto.PdfOperationResult;
+import com.pdftools.exception.CapacityExceededException;
+import com.pdftools.exception.PdfProcessingException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs PDF operations in the background and tracks their status.
+ * <p>
+ * Each job runs on its own virtual thread, but only a limited number of jobs per
+ * operation may do work at the same time; the rest wait for a permit. The total
+ * number of queued and running jobs is capped, and submissions beyond that cap are
+ * rejected with {@link CapacityExceededException} so callers get back-pressure
+ * instead of an ever-growing backlog.
+ */
+@Service
+public class PdfJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfJobService.class);
+
+    /** Text-extraction conversions are CPU heavy and get the tighter limit */
+    private static final Set<String> CONVERSIONS = Set.of("markdown", "docx");
+
+    /**
+     * Work performed by a job against the spooled uploads
+     */
+    @FunctionalInterface
+    public interface JobTask {
+        PdfOperationResult run(List<MultipartFile> files) throws PdfProcessingException;
+    }
+
+    private final PdfDocumentLoader documentLoader;
+    private final int maxPending;
+    private final int maxConcurrentPerOperation;
+    private final int maxConcurrentConversions;
+    private final Duration retention;
+
+    private final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pdf-job-", 0).factory());
+    private final Map<String, Semaphore> operationPermits = new ConcurrentHashMap<>();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    @Autowired
+    public PdfJobService(
+            PdfDocumentLoader documentLoader,
+            @Value("${pdf.jobs.max-pending}") int maxPending,
+            @Value("${pdf.jobs.max-concurrent-per-operation}") int maxConcurrentPerOperation,
+            @Value("${pdf.jobs.max-concurrent-conversions}") int maxConcurrentConversions,
+            @Value("${pdf.jobs.retention-minutes}") long retentionMinutes) {
+        this.documentLoader = documentLoader;
+        this.maxPending = maxPending;
+        this.maxConcurrentPerOperation = maxConcurrentPerOperation;
+        this.maxConcurrentConversions = maxConcurrentConversions;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    /**
+     * Spool the uploads and queue the task. Returns immediately with the queued job.
+     */
+    public PdfJob submit(String operation, List<MultipartFile> files, JobTask task)
+            throws CapacityExceededException, PdfProcessingException {
+        pruneFinishedJobs();
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new CapacityExceededException("Too many jobs in progress. Please retry later.");
+        }
+
+        List<SpooledMultipartFile> spooled = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                spooled.add(new SpooledMultipartFile(documentLoader.spool(file), file));
+            }
+        } catch (IOException e) {
+            pending.decrementAndGet();
+            deleteAll(spooled);
+            throw new PdfProcessingException("Failed to queue job: " + e.getMessage(), e);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), operation);
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job, spooled, task));
+        return job.snapshot();
+    }
+
+    /**
+     * Current state of a job, if it is still retained
+     */
+    public Optional<PdfJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::snapshot);
+    }
+
+    private void run(Job job, List<SpooledMultipartFile> files, JobTask task) {
+        Semaphore permits = operationPermits.computeIfAbsent(job.operation, op ->
+            new Semaphore(CONVERSIONS.contains(op) ? maxConcurrentConversions : maxConcurrentPerOperation));
+        try {
+            permits.acquire();
+            try {
+                job.status = PdfJob.Status.RUNNING;
+                job.finish(PdfJob.Status.SUCCEEDED, task.run(new ArrayList<>(files)));
+            } finally {
+                permits.release();
+            }
+        } catch (PdfProcessingException e) {
+            logger.error("Job {} ({}) failed: {}", job.id, job.operation, e.getMessage(), e);
+            job.finish(PdfJob.Status.FAILED, new PdfOperationResult(false, e.getMessage(), null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(PdfJob.Status.FAILED, new PdfOperationResult(false, "Job was cancelled", null));
+        } catch (RuntimeException e) {
+            logger.error("Job {} ({}) failed unexpectedly: {}", job.id, job.operation, e.getMessage(), e);
+            job.finish(PdfJob.Status.FAILED, new PdfOperationResult(false,
+                "An unexpected error occurred while processing your request. Please try again.", null));
+        } finally {
+            deleteAll(files);
+            pending.decrementAndGet();
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void deleteAll(List<SpooledMultipartFile> files) {
+        for (SpooledMultipartFile file : files) {
+            try {
+                file.delete();
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled upload {}: {}", file.getPath(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Mutable job state shared between the submitting thread and the worker
+     */
+    private static final class Job {
+        private final String id;
+        private final String operation;
+        private final Instant createdAt = Instant.now();
+        private volatile PdfJob.Status status = PdfJob.Status.QUEUED;
+        private volatile PdfOperationResult result;
+        private volatile Instant finishedAt;
+
+        Job(String id, String operation) {
+            this.id = id;
+            this.operation = operation;
+        }
+
+        void finish(PdfJob.Status finalStatus, PdfOperationResult finalResult) {
+            result = finalResult;
+            finishedAt = Instant.now();
+            status = finalStatus;
+        }
+
+        PdfJob snapshot() {
+            return new PdfJob(id, operation, status, result, createdAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.pdftools.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation for PDF operations.
+ * <p>
+ * Each operation is timed as a whole ({@code pdf.operation}, tagged with its
+ * outcome) and split into load, process and save phases
+ * ({@code pdf.operation.phase}); process is whatever time is not spent loading
+ * or saving. Input size, input page count and output size are recorded as
+ * distributions. Failures surfaced to clients are counted by exception type and by
+ * the type of its innermost cause, since service errors are wrapped in
+ * {@code PdfProcessingException}; scratch, upload-directory and result-cache usage are exposed as gauges.
+ */
+@Component
+public class PdfMetrics {
+
+    private static final double MAX_EXPECTED_BYTES = 1024.0 * 1024 * 1024;
+    private static final double MAX_EXPECTED_PAGES = 100_000;
+
+    /**
+     * Loading or saving step timed by an {@link Operation}
+     */
+    @FunctionalInterface
+    public interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+
+    private final MeterRegistry registry;
+
+    public PdfMetrics() {
+        this(new SimpleMeterRegistry());
+    }
+
+    public PdfMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Autowired
+    public PdfMetrics(MeterRegistry registry, PdfDocumentLoader documentLoader,
+            UploadStorageManager storageManager, ResultCache resultCache) {
+        this(registry);
+        Gauge.builder("pdf.scratch.usage", documentLoader, PdfDocumentLoader::getScratchUsage)
+            .baseUnit("bytes")
+            .description("Bytes held by spooled uploads and scratch files")
+            .register(registry);
+        Gauge.builder("pdf.storage.usage", storageManager, m -> m.getUsage().getUsedBytes())
+            .baseUnit("bytes")
+            .description("Bytes of outputs in the upload directory at the last sweep")
+            .register(registry);
+        Gauge.builder("pdf.storage.files", storageManager, m -> m.getUsage().getFileCount())
+            .description("Outputs in the upload directory at the last sweep")
+            .register(registry);
+        FunctionCounter.builder("pdf.storage.evictions", storageManager, m -> m.getUsage().getEvictedFiles())
+            .description("Outputs deleted by the upload directory sweep")
+            .register(registry);
+        FunctionCounter.builder("pdf.cache.hits", resultCache, ResultCache::getHits).register(registry);
+        FunctionCounter.builder("pdf.cache.misses", resultCache, ResultCache::getMisses).register(registry);
+        FunctionCounter.builder("pdf.cache.evictions", resultCache, ResultCache::getEvictions).register(registry);
+        Gauge.builder("pdf.cache.size", resultCache, ResultCache::size).register(registry);
+    }
+
+    /**
+     * Start timing {@code operation} on the given uploads
+     */
+    public Operation start(String operation, MultipartFile... inputs) {
+        return start(operation, List.of(inputs));
+    }
+
+    public Operation start(String operation, List<MultipartFile> inputs) {
+        long inputBytes = 0;
+        for (MultipartFile input : inputs) {
+            inputBytes += input.getSize();
+        }
+        if (!inputs.isEmpty()) {
+            DistributionSummary.builder("pdf.input.size")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_BYTES)
+                .register(registry)
+                .record(inputBytes);
+        }
+        return new Operation(operation);
+    }
+
+    /**
+     * Count a failure reported to a client
+     */
+    public void recordFailure(Throwable failure) {
+        registry.counter("pdf.failures",
+            "exception", failure.getClass().getSimpleName(),
+            "cause", rootCause(failure).getClass().getSimpleName()).increment();
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        // Bounded in case of a cyclic cause chain
+        for (int depth = 0; depth < 16 && cause.getCause() != null; depth++) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Timing of a single operation; close it when the operation finishes.
+     * The outcome is a failure unless {@link #complete(Object)} was called.
+     */
+    public final class Operation implements AutoCloseable {
+
+        private final String operation;
+        private final long startNanos = System.nanoTime();
+        private long loadNanos;
+        private long saveNanos;
+        private boolean succeeded;
+
+        private Operation(String operation) {
+            this.operation = operation;
+        }
+
+        /**
+         * Run a loading step; the page count of a loaded document is recorded
+         */
+        public <T> T load(IOSupplier<T> step) throws IOException {
+            long start = System.nanoTime();
+            try {
+                T loaded = step.get();
+                if (loaded instanceof PDDocument document) {
+                    pages(document.getNumberOfPages());
+                }
+                return loaded;
+            } finally {
+                loadNanos += System.nanoTime() - start;
+            }
+        }
+
+        /**
+         * Run a saving step and record the size of the file it wrote
+         */
+        public File save(IOSupplier<File> step) throws IOException {
+            long start = System.nanoTime();
+            try {
+                File output = step.get();
+                output(output);
+                return output;
+            } finally {
+                saveNanos += System.nanoTime() - start;
+            }
+        }
+
+        public void pages(int pageCount) {
+            DistributionSummary.builder("pdf.input.pages")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_PAGES)
+                .register(registry)
+                .record(pageCount);
+        }
+
+        public void output(File output) {
+            DistributionSummary.builder("pdf.output.size")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_BYTES)
+                .register(registry)
+                .record(output.length());
+        }
+
+        /**
+         * Mark the operation successful and pass its result through
+         */
+        public <T> T complete(T result) {
+            succeeded = true;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            long totalNanos = System.nanoTime() - startNanos;
+            String outcome = succeeded ? "success" : "failure";
+            timer("pdf.operation", "outcome", outcome).record(totalNanos, TimeUnit.NANOSECONDS);
+            phase("load", loadNanos);
+            phase("process", Math.max(0, totalNanos - loadNanos - saveNanos));
+            phase("save", saveNanos);
+        }
+
+        private void phase(String phase, long nanos) {
+            timer("pdf.operation.phase", "phase", phase).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private Timer timer(String name, String tagKey, String tagValue) {
+            return Timer.builder(name)
+                .tag("operation", operation)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+    }
+}
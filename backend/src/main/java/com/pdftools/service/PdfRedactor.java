@@ -0,0 +1,352 @@
+package com.pdftools.service;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationPopup;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Applies redaction areas to a document, removing the covered content.
+ * <p>
+ * Areas are grouped by page so every affected page is interpreted and rewritten once
+ * by a {@link PageRedactor}, however many areas it has. Areas can also be found by
+ * searching the text for regular expressions, in the same pass over the pages.
+ * <p>
+ * When the document was opened from a spooled file, the pages are split into batches
+ * on the {@link PdfWorkerPool}, each batch working on its own view of the file; the
+ * rewritten pages are then installed into the document on the calling thread.
+ * <p>
+ * Annotations are drawn above the page content, so the black boxes cannot hide them.
+ * Annotations whose rectangle reaches into an area are removed from the page together
+ * with their popups; a removed widget is also taken out of its form field, and a field
+ * left without widgets out of the form, so field values do not stay in the file.
+ * <p>
+ * Search patterns come from clients, so their length is capped and matching on a page
+ * has a time limit; a pattern that runs over it fails the whole search.
+ */
+@Component
+public class PdfRedactor {
+
+    private static final COSName MATTE = COSName.getPDFName("Matte");
+    private static final COSName RICH_CONTENTS = COSName.getPDFName("RC");
+
+    /**
+     * Rewritten page with the areas it was redacted with
+     */
+    private record PageRedaction(float[] areas, PageRedactor.Result result) {
+    }
+
+    private final PdfDocumentLoader documentLoader;
+    private final PdfWorkerPool workerPool;
+    private final int maxPatternLength;
+    private final long matchTimeoutMillis;
+
+    public PdfRedactor(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool) {
+        this(documentLoader, workerPool, 500, 2000);
+    }
+
+    @Autowired
+    public PdfRedactor(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool,
+            @Value("${pdf.redact.max-pattern-length}") int maxPatternLength,
+            @Value("${pdf.redact.match-timeout-ms}") long matchTimeoutMillis) {
+        this.documentLoader = documentLoader;
+        this.workerPool = workerPool;
+        this.maxPatternLength = maxPatternLength;
+        this.matchTimeoutMillis = matchTimeoutMillis;
+    }
+
+    /**
+     * Longest search pattern accepted, in characters
+     */
+    public int getMaxPatternLength() {
+        return maxPatternLength;
+    }
+
+    /**
+     * Redact {@code document} in place, one page at a time.
+     * Areas on pages the document does not have are skipped.
+     */
+    public void redact(PDDocument document, RedactionIndex areas) throws IOException {
+        redact(document, null, areas);
+    }
+
+    /**
+     * Redact {@code document}, which must have been opened from {@code source} and not
+     * modified since, processing the affected pages in parallel.
+     * Areas on pages the document does not have are skipped.
+     */
+    public void redact(PDDocument document, Path source, RedactionIndex areas) throws IOException {
+        redactPages(document, source, areas.pages(document.getNumberOfPages()), (view, pages) -> {
+            Map<Integer, PageRedaction> results = new HashMap<>();
+            for (int pageNum : pages) {
+                float[] pageAreas = areas.areas(pageNum);
+                results.put(pageNum,
+                    new PageRedaction(pageAreas, PageRedactor.redact(view.getPage(pageNum - 1), pageAreas)));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Search every page of {@code document} for {@code patterns} and redact the matches in
+     * the same pass. {@code document} must have been opened from {@code source} (or
+     * {@code source} be null to work on it directly). Fails if matching the patterns on
+     * any page takes longer than the configured time limit.
+     * @return number of matches by page number, for the pages with matches
+     */
+    public Map<Integer, Integer> redactMatches(PDDocument document, Path source, List<Pattern> patterns)
+            throws IOException {
+        Map<Integer, Integer> matches = new ConcurrentHashMap<>();
+        List<Integer> pages = new ArrayList<>();
+        for (int pageNum = 1; pageNum <= document.getNumberOfPages(); pageNum++) {
+            pages.add(pageNum);
+        }
+        redactPages(document, source, pages, (view, batch) -> {
+            Map<Integer, PageRedaction> results = new HashMap<>();
+            TextMatchFinder finder = new TextMatchFinder(patterns, matchTimeoutMillis, (pageNum, areas, count) -> {
+                results.put(pageNum, new PageRedaction(areas, PageRedactor.redact(view.getPage(pageNum - 1), areas)));
+                matches.put(pageNum, count);
+            });
+            finder.setStartPage(batch.get(0));
+            finder.setEndPage(batch.get(batch.size() - 1));
+            finder.writeText(view, Writer.nullWriter());
+            return results;
+        });
+        return new TreeMap<>(matches);
+    }
+
+    /**
+     * Rewrites pages of one document; the pages passed are sorted and contiguous batches
+     * of them are handed to separate views
+     */
+    @FunctionalInterface
+    private interface BatchRedaction {
+        Map<Integer, PageRedaction> redact(PDDocument document, List<Integer> pages) throws IOException;
+    }
+
+    private void redactPages(PDDocument document, Path source, List<Integer> pages, BatchRedaction redaction)
+            throws IOException {
+        if (pages.isEmpty()) {
+            return;
+        }
+        int workers = Math.min(workerPool.getParallelism(), pages.size());
+
+        Map<Integer, PageRedaction> results = new TreeMap<>();
+        if (source == null || workers <= 1) {
+            results.putAll(redaction.redact(document, pages));
+        } else {
+            int batchSize = (pages.size() + workers - 1) / workers;
+            List<Callable<Map<Integer, PageRedaction>>> batches = new ArrayList<>();
+            for (int start = 0; start < pages.size(); start += batchSize) {
+                List<Integer> batch = pages.subList(start, Math.min(pages.size(), start + batchSize));
+                batches.add(() -> {
+                    try (PDDocument view = documentLoader.open(source)) {
+                        return redaction.redact(view, batch);
+                    }
+                });
+            }
+            for (Map<Integer, PageRedaction> batchResults : workerPool.invokeAll(batches)) {
+                results.putAll(batchResults);
+            }
+        }
+
+        for (Map.Entry<Integer, PageRedaction> result : results.entrySet()) {
+            PDPage page = document.getPage(result.getKey() - 1);
+            install(document, page, result.getValue().result());
+            removeAnnotations(document, page, result.getValue().areas());
+        }
+    }
+
+    /**
+     * Remove the annotations of {@code page} whose rectangle intersects an area, and the
+     * popups attached to them
+     */
+    private void removeAnnotations(PDDocument document, PDPage page, float[] areas) {
+        COSArray annotations = page.getCOSObject().getCOSArray(COSName.ANNOTS);
+        if (annotations == null) {
+            return;
+        }
+        Set<COSDictionary> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < annotations.size(); i++) {
+            if (annotations.getObject(i) instanceof COSDictionary annotation && covers(areas, annotation)) {
+                removed.add(annotation);
+            }
+        }
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        COSArray kept = new COSArray();
+        for (int i = 0; i < annotations.size(); i++) {
+            COSBase annotation = annotations.getObject(i);
+            if (annotation instanceof COSDictionary dictionary && (removed.contains(dictionary)
+                    || (removed.contains(dictionary.getCOSDictionary(COSName.PARENT))
+                        && PDAnnotationPopup.SUB_TYPE.equals(dictionary.getNameAsString(COSName.SUBTYPE))))) {
+                continue;
+            }
+            kept.add(annotations.get(i));
+        }
+        page.getCOSObject().setItem(COSName.ANNOTS, kept);
+
+        for (COSDictionary annotation : removed) {
+            if (PDAnnotationWidget.SUB_TYPE.equals(annotation.getNameAsString(COSName.SUBTYPE))) {
+                removeWidget(document, annotation);
+            }
+            // In case anything else, such as the structure tree, still refers to it
+            annotation.removeItem(COSName.AP);
+            annotation.removeItem(COSName.CONTENTS);
+            annotation.removeItem(RICH_CONTENTS);
+        }
+    }
+
+    private static boolean covers(float[] areas, COSDictionary annotation) {
+        COSArray rect = annotation.getCOSArray(COSName.RECT);
+        if (rect == null || rect.size() < 4) {
+            return false;
+        }
+        PDRectangle box = new PDRectangle(rect);
+        for (int i = 0; i < areas.length; i += 4) {
+            if (box.getUpperRightX() > areas[i] && box.getLowerLeftX() < areas[i + 2]
+                    && box.getUpperRightY() > areas[i + 1] && box.getLowerLeftY() < areas[i + 3]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Take {@code widget} out of its field, and every field left without kids out of its
+     * parent or the form, so the field value is not written with the document
+     */
+    private void removeWidget(PDDocument document, COSDictionary widget) {
+        COSDictionary acroForm = document.getDocumentCatalog().getCOSObject().getCOSDictionary(COSName.ACRO_FORM);
+        COSDictionary node = widget;
+        while (node != null) {
+            COSDictionary parent = node.getCOSDictionary(COSName.PARENT);
+            COSArray siblings = parent != null ? parent.getCOSArray(COSName.KIDS)
+                : acroForm == null ? null : acroForm.getCOSArray(COSName.FIELDS);
+            if (siblings == null) {
+                return;
+            }
+            for (int i = siblings.size() - 1; i >= 0; i--) {
+                if (siblings.getObject(i) == node) {
+                    siblings.remove(i);
+                }
+            }
+            if (parent == null || siblings.size() > 0) {
+                return;
+            }
+            // The parent field has no widgets left
+            node = parent;
+        }
+    }
+
+    /**
+     * Replace the page content and, if images or forms were edited, give the page its own
+     * resources so pages sharing the original XObjects are not affected
+     */
+    private void install(PDDocument document, PDPage page, PageRedactor.Result result) throws IOException {
+        page.setContents(new PDStream(document, new ByteArrayInputStream(result.content()), COSName.FLATE_DECODE));
+        if (result.images().isEmpty() && result.forms().isEmpty()) {
+            return;
+        }
+        page.setResources(new PDResources(localResources(document, page.getResources().getCOSObject(), result)));
+    }
+
+    private static COSStream createImage(PDDocument document, PageRedactor.EncodedImage encoded) throws IOException {
+        COSStream image = document.getDocument().createCOSStream();
+        for (Map.Entry<COSName, COSBase> parameter : encoded.parameters().entrySet()) {
+            image.setItem(parameter.getKey(), parameter.getValue());
+        }
+        try (OutputStream out = image.createRawOutputStream()) {
+            out.write(encoded.data());
+        }
+        return image;
+    }
+
+    /**
+     * Copy of {@code resources} with the edited images replaced and the redacted form
+     * copies added, recursively for forms that edit their own XObjects
+     */
+    private COSDictionary localResources(PDDocument document, COSDictionary resources, PageRedactor.Result result)
+            throws IOException {
+        COSDictionary local = new COSDictionary(resources);
+        COSDictionary original = resources.getCOSDictionary(COSName.XOBJECT);
+        COSDictionary xobjects = original == null ? new COSDictionary() : new COSDictionary(original);
+        local.setItem(COSName.XOBJECT, xobjects);
+
+        for (Map.Entry<COSName, PageRedactor.EncodedImage> entry : result.images().entrySet()) {
+            COSStream image = createImage(document, entry.getValue());
+            COSStream replaced = xobjects.getCOSStream(entry.getKey());
+            PageRedactor.EncodedImage softMask = entry.getValue().softMask();
+            if (softMask != null) {
+                COSStream mask = createImage(document, softMask);
+                COSStream originalMask = replaced == null ? null : replaced.getCOSStream(COSName.SMASK);
+                if (originalMask != null) {
+                    mask.setItem(MATTE, originalMask.getItem(MATTE));
+                }
+                image.setItem(COSName.SMASK, mask);
+            }
+            // Colour key masking carries no shape and is kept; a stencil mask image would
+            // still hold the shape of the removed content, so it is dropped with unreadable soft masks
+            if (replaced != null && replaced.getDictionaryObject(COSName.MASK) instanceof COSArray colourKey) {
+                image.setItem(COSName.MASK, colourKey);
+            }
+            xobjects.setItem(entry.getKey(), image);
+        }
+
+        for (Map.Entry<COSName, PageRedactor.FormCopy> entry : result.forms().entrySet()) {
+            PageRedactor.FormCopy copy = entry.getValue();
+            COSStream source = xobjects.getCOSStream(copy.original());
+            if (source == null) {
+                throw new IOException("Form XObject " + copy.original().getName() + " not found");
+            }
+            COSStream form = document.getDocument().createCOSStream();
+            for (Map.Entry<COSName, COSBase> parameter : source.entrySet()) {
+                COSName key = parameter.getKey();
+                if (!COSName.LENGTH.equals(key) && !COSName.FILTER.equals(key) && !COSName.DECODE_PARMS.equals(key)) {
+                    form.setItem(key, parameter.getValue());
+                }
+            }
+            try (OutputStream out = form.createOutputStream(COSName.FLATE_DECODE)) {
+                out.write(copy.result().content());
+            }
+            if (!copy.result().images().isEmpty() || !copy.result().forms().isEmpty()) {
+                // Forms without resources of their own use those of the stream drawing them
+                COSDictionary formResources = source.getCOSDictionary(COSName.RESOURCES);
+                form.setItem(COSName.RESOURCES,
+                    localResources(document, formResources == null ? resources : formResources, copy.result()));
+            }
+            xobjects.setItem(entry.getKey(), form);
+        }
+        return local;
+    }
+}
@@ -0,0 +1,224 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.PageThumbnail;
+import com.pdftools.dto.ThumbnailResult;
+import com.pdftools.exception.PdfProcessingException;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+/**
+ * Renders page thumbnails as PNG images.
+ * <p>
+ * Tiles are cached in the {@link TileCache} by the content hash of the upload, the page
+ * and the DPI, so previewing the same document again only hashes and opens it. Pages
+ * missing from the cache are split into batches on the {@link PdfWorkerPool}, each
+ * batch rendering from its own view of the spooled upload. Pages too large for the
+ * pixel budget are rendered at a lower resolution than requested. Only the size of
+ * each image is kept for the response; the images themselves live in the cache.
+ */
+@Service
+public class PdfRenderService {
+
+    private static final int MIN_DPI = 10;
+    private static final int DEFAULT_MAX_DPI = 300;
+    private static final long DEFAULT_MAX_PIXELS = 16L * 1024 * 1024;
+    private static final Pattern DOCUMENT_ID = Pattern.compile("[0-9a-f]{64}");
+
+    private final PdfDocumentLoader documentLoader;
+    private final PdfWorkerPool workerPool;
+    private final TileCache tileCache;
+    private final PdfMetrics metrics;
+    private final int maxDpi;
+    private final long maxPixels;
+
+    public PdfRenderService() {
+        this(new PdfDocumentLoader(), new PdfWorkerPool(), new TileCache());
+    }
+
+    public PdfRenderService(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool, TileCache tileCache) {
+        this(documentLoader, workerPool, tileCache, new PdfMetrics(), DEFAULT_MAX_DPI, DEFAULT_MAX_PIXELS);
+    }
+
+    @Autowired
+    public PdfRenderService(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool, TileCache tileCache,
+            PdfMetrics metrics,
+            @Value("${pdf.render.max-dpi}") int maxDpi,
+            @Value("${pdf.render.max-pixels}") long maxPixels) {
+        this.documentLoader = documentLoader;
+        this.workerPool = workerPool;
+        this.tileCache = tileCache;
+        this.metrics = metrics;
+        this.maxDpi = maxDpi;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * Render {@code pages} (all pages when null or empty) of {@code file} at {@code dpi}
+     * and cache the images for {@link #getThumbnail}
+     */
+    public ThumbnailResult renderThumbnails(MultipartFile file, List<Integer> pages, int dpi)
+            throws PdfProcessingException {
+        if (dpi < MIN_DPI || dpi > maxDpi) {
+            throw new PdfProcessingException("DPI must be between " + MIN_DPI + " and " + maxDpi);
+        }
+
+        Path source = null;
+        try (PdfMetrics.Operation op = metrics.start("thumbnails", file)) {
+            String documentId = ResultCache.digest(file, "render");
+            Path spooled = op.load(() -> documentLoader.spool(file));
+            source = spooled;
+            try (PDDocument document = op.load(() -> documentLoader.open(spooled))) {
+                int pageCount = document.getNumberOfPages();
+                List<Integer> requested = requestedPages(pages, pageCount);
+
+                Map<Integer, PageThumbnail> rendered = new HashMap<>();
+                List<Integer> missing = new ArrayList<>();
+                for (int page : requested) {
+                    byte[] tile = tileCache.get(key(documentId, page, dpi));
+                    if (tile == null) {
+                        missing.add(page);
+                    } else {
+                        rendered.put(page, thumbnail(page, tile));
+                    }
+                }
+                rendered.putAll(render(document, spooled, documentId, missing, dpi));
+
+                List<PageThumbnail> thumbnails = new ArrayList<>();
+                for (int page : requested) {
+                    thumbnails.add(rendered.get(page));
+                }
+                return op.complete(new ThumbnailResult(true, "Thumbnails rendered successfully",
+                    documentId, pageCount, dpi, thumbnails));
+            }
+        } catch (Exception e) {
+            throw new PdfProcessingException("Failed to render thumbnails: " + e.getMessage(), e);
+        } finally {
+            deleteSpooled(source);
+        }
+    }
+
+    /**
+     * PNG image of a page rendered by {@link #renderThumbnails}, or null when it is not
+     * (or no longer) cached
+     */
+    public byte[] getThumbnail(String documentId, int page, int dpi) throws PdfProcessingException {
+        if (documentId == null || !DOCUMENT_ID.matcher(documentId).matches()) {
+            throw new PdfProcessingException("Invalid document id");
+        }
+        return tileCache.get(key(documentId, page, dpi));
+    }
+
+    private static List<Integer> requestedPages(List<Integer> pages, int pageCount) throws PdfProcessingException {
+        if (pages == null || pages.isEmpty()) {
+            List<Integer> all = new ArrayList<>(pageCount);
+            for (int page = 1; page <= pageCount; page++) {
+                all.add(page);
+            }
+            return all;
+        }
+        for (int page : pages) {
+            if (page < 1 || page > pageCount) {
+                throw new PdfProcessingException("Invalid page number: " + page);
+            }
+        }
+        return new ArrayList<>(new LinkedHashSet<>(pages));
+    }
+
+    private Map<Integer, PageThumbnail> render(PDDocument document, Path source, String documentId,
+            List<Integer> pages, int dpi) throws IOException {
+        Map<Integer, PageThumbnail> thumbnails = new HashMap<>();
+        if (pages.isEmpty()) {
+            return thumbnails;
+        }
+        int workers = Math.min(workerPool.getParallelism(), pages.size());
+        if (workers <= 1) {
+            thumbnails.putAll(renderBatch(document, documentId, pages, dpi));
+            return thumbnails;
+        }
+
+        int batchSize = (pages.size() + workers - 1) / workers;
+        List<Callable<Map<Integer, PageThumbnail>>> batches = new ArrayList<>();
+        for (int start = 0; start < pages.size(); start += batchSize) {
+            List<Integer> batch = pages.subList(start, Math.min(pages.size(), start + batchSize));
+            batches.add(() -> {
+                try (PDDocument view = documentLoader.open(source)) {
+                    return renderBatch(view, documentId, batch, dpi);
+                }
+            });
+        }
+        for (Map<Integer, PageThumbnail> batchThumbnails : workerPool.invokeAll(batches)) {
+            thumbnails.putAll(batchThumbnails);
+        }
+        return thumbnails;
+    }
+
+    private Map<Integer, PageThumbnail> renderBatch(PDDocument document, String documentId, List<Integer> pages,
+            int dpi) throws IOException {
+        PDFRenderer renderer = new PDFRenderer(document);
+        // Thumbnails do not need full-resolution images
+        renderer.setSubsamplingAllowed(true);
+        Map<Integer, PageThumbnail> thumbnails = new HashMap<>();
+        for (int page : pages) {
+            BufferedImage image = renderer.renderImage(page - 1, scale(document, page, dpi), ImageType.RGB);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            tileCache.put(key(documentId, page, dpi), out.toByteArray());
+            thumbnails.put(page, new PageThumbnail(page, image.getWidth(), image.getHeight()));
+        }
+        return thumbnails;
+    }
+
+    /**
+     * Size of a cached PNG tile: IHDR is always the first chunk, and its width and
+     * height follow the 16-byte header
+     */
+    private static PageThumbnail thumbnail(int page, byte[] tile) {
+        ByteBuffer header = ByteBuffer.wrap(tile, 16, 8);
+        return new PageThumbnail(page, header.getInt(), header.getInt());
+    }
+
+    /**
+     * Scale for {@code dpi}, reduced so the image stays within the pixel budget
+     */
+    private float scale(PDDocument document, int page, int dpi) {
+        PDRectangle cropBox = document.getPage(page - 1).getCropBox();
+        double area = Math.max(1, (double) cropBox.getWidth() * cropBox.getHeight());
+        double scale = dpi / 72.0;
+        return (float) Math.min(scale, Math.sqrt(maxPixels / area));
+    }
+
+    private static String key(String documentId, int page, int dpi) {
+        return documentId + "-" + page + "-" + dpi;
+    }
+
+    private static void deleteSpooled(Path source) {
+        if (source != null) {
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException ignored) {
+                // Scratch files are best-effort cleanup
+            }
+        }
+    }
+}
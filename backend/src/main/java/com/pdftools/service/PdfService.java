@@ -1,32 +1,47 @@
 package com.pdftools.service;
 
 import com.pdftools.dto.PdfOperationResult;
+import com.pdftools.dto.PipelineStep;
+import com.pdftools.dto.RedactionArea;
+import com.pdftools.dto.RedactionSearchResult;
 import com.pdftools.exception.PdfProcessingException;
-import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDFormContentStream;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 import org.apache.pdfbox.util.Matrix;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
-import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.awt.*;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 public class PdfService {
@@ -34,102 +49,277 @@ public class PdfService {
     @Value("${pdf.upload.dir}")
     private String uploadDir;
 
+    private final PdfDocumentLoader documentLoader;
+    private final PdfWorkerPool workerPool;
+    private final ParallelTextExtractor textExtractor;
+    private final ResultCache resultCache;
+    private final PdfMetrics metrics;
+    private final FontRegistry fontRegistry;
+    private final PdfRedactor redactor;
+
     public PdfService() {
-        // Constructor
+        this(new PdfDocumentLoader());
+    }
+
+    public PdfService(PdfDocumentLoader documentLoader) {
+        this(documentLoader, new PdfWorkerPool());
+    }
+
+    public PdfService(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool) {
+        this(documentLoader, workerPool, new ParallelTextExtractor(documentLoader, workerPool), new ResultCache());
+    }
+
+    public PdfService(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool,
+            ParallelTextExtractor textExtractor, ResultCache resultCache) {
+        this(documentLoader, workerPool, textExtractor, resultCache, new PdfMetrics());
+    }
+
+    public PdfService(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool,
+            ParallelTextExtractor textExtractor, ResultCache resultCache, PdfMetrics metrics) {
+        this(documentLoader, workerPool, textExtractor, resultCache, metrics, new FontRegistry());
+    }
+
+    public PdfService(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool,
+            ParallelTextExtractor textExtractor, ResultCache resultCache, PdfMetrics metrics,
+            FontRegistry fontRegistry) {
+        this(documentLoader, workerPool, textExtractor, resultCache, metrics, fontRegistry, 
+            new PdfRedactor(documentLoader, workerPool));
+    }
+
+    @Autowired
+    public PdfService(PdfDocumentLoader documentLoader, PdfWorkerPool workerPool,
+            ParallelTextExtractor textExtractor, ResultCache resultCache, PdfMetrics metrics,
+            FontRegistry fontRegistry, PdfRedactor redactor) {
+        this.documentLoader = documentLoader;
+        this.workerPool = workerPool;
+        this.textExtractor = textExtractor;
+        this.resultCache = resultCache;
+        this.metrics = metrics;
+        this.fontRegistry = fontRegistry;
+        this.redactor = redactor;
     }
 
     /**
-     * Merge multiple PDFs into one
+     * Merge multiple PDFs into one.
+     * <p>
+     * Uploads are spooled to disk and merged one source at a time: each source is
+     * opened, its pages are cloned into the destination and it is closed again
+     * before the next one is read, so only one source document is resident at once.
+     * Cloned streams are buffered by the loader's scratch-file policy.
      */
     public PdfOperationResult mergePdfs(List<MultipartFile> files, String originalFilename) throws PdfProcessingException {
-        List<PDDocument> sourceDocs = new ArrayList<>();
-        try {
-            PDDocument mergedDoc = new PDDocument();
-            
+        List<Path> sources = new ArrayList<>();
+        try (PdfMetrics.Operation op = metrics.start("merge", files)) {
             for (MultipartFile file : files) {
-                PDDocument doc = Loader.loadPDF(file.getBytes());
-                sourceDocs.add(doc); // Keep reference to prevent closing
-                
-                for (int i = 0; i < doc.getNumberOfPages(); i++) {
-                    PDPage page = doc.getPage(i);
-                    // Import page to new document to avoid reference issues
-                    mergedDoc.importPage(page);
-                }
+                sources.add(op.load(() -> documentLoader.spool(file)));
             }
 
-            File outputFile = saveDocument(mergedDoc, "merged", originalFilename);
-            mergedDoc.close();
-            
-            // Close source documents after merged doc is saved
-            for (PDDocument doc : sourceDocs) {
-                doc.close();
-            }
+            File outputFile = mergeSources(sources, originalFilename);
+            op.output(outputFile);
 
-            return new PdfOperationResult(true, "PDFs merged successfully", outputFile.getName());
+            return op.complete(new PdfOperationResult(true, "PDFs merged successfully", outputFile.getName()));
         } catch (Exception e) {
-            // Clean up on error
-            for (PDDocument doc : sourceDocs) {
-                try { doc.close(); } catch (Exception ignored) {}
+            throw new PdfProcessingException("Failed to merge PDFs: " + e.getMessage(), e);
+        } finally {
+            sources.forEach(this::deleteSpooled);
+        }
+    }
+
+    /**
+     * Merge PDFs previously produced by this service, read directly from the upload directory
+     */
+    public PdfOperationResult mergeStoredFiles(List<String> filenames, String originalFilename) 
+            throws PdfProcessingException {
+        List<Path> sources = new ArrayList<>();
+        for (String filename : filenames) {
+            if (!filename.toLowerCase().endsWith(".pdf")) {
+                throw new PdfProcessingException("Only PDF files can be merged: " + filename);
             }
+            sources.add(resolveDownload(filename));
+        }
+
+        try (PdfMetrics.Operation op = metrics.start("merge-stored")) {
+            File outputFile = mergeSources(sources, originalFilename);
+            op.output(outputFile);
+
+            return op.complete(new PdfOperationResult(true, "PDFs merged successfully", outputFile.getName()));
+        } catch (Exception e) {
             throw new PdfProcessingException("Failed to merge PDFs: " + e.getMessage(), e);
         }
     }
 
+    private File mergeSources(List<Path> sources, String originalFilename) throws IOException {
+        File outputFile = createOutputFile(originalFilename, "merged", ".pdf");
+        PDFMergerUtility merger = new PDFMergerUtility();
+        merger.setDocumentMergeMode(PDFMergerUtility.DocumentMergeMode.OPTIMIZE_RESOURCES_MODE);
+        merger.setDestinationFileName(outputFile.getPath());
+        for (Path source : sources) {
+            merger.addSource(source.toFile());
+        }
+        try {
+            merger.mergeDocuments(documentLoader::createStreamCache);
+        } catch (IOException e) {
+            Files.deleteIfExists(outputFile.toPath());
+            throw e;
+        }
+        return outputFile;
+    }
+
     /**
      * Split PDF into separate documents based on page groups
-     * @param groups - comma-separated page groups, e.g. "1-3,4-5" creates two PDFs
+     * @param groups - semicolon-separated page groups, e.g. "1-3;4-5" creates two PDFs
      *                 If null or empty, splits into individual pages
      */
     public PdfOperationResult splitPdf(MultipartFile file, String groups, String originalFilename) throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            List<String> outputFiles = new ArrayList<>();
-            int pageCount = document.getNumberOfPages();
+        return splitPdf(file, groups, false, originalFilename);
+    }
+
+    /**
+     * Split PDF, optionally packaging all parts into a single ZIP archive.
+     * <p>
+     * The upload is spooled once and the parts are divided into contiguous batches,
+     * one per worker. Each worker opens its own view of the spooled file and writes
+     * its parts; resources shared by the pages of a part (fonts, images) are written
+     * once per part.
+     */
+    public PdfOperationResult splitPdf(MultipartFile file, String groups, boolean zip, String originalFilename) 
+            throws PdfProcessingException {
+        return splitPdf(file, groups, zip, originalFilename, ProgressListener.NONE);
+    }
+
+    /**
+     * Split PDF, reporting the pages written so far to {@code progress}
+     */
+    public PdfOperationResult splitPdf(MultipartFile file, String groups, boolean zip, String originalFilename,
+            ProgressListener progress) throws PdfProcessingException {
+        Path source = null;
+        Path partsDir = null;
+        try (PdfMetrics.Operation op = metrics.start("split", file)) {
+            Path spooled = op.load(() -> documentLoader.spool(file));
+            source = spooled;
+            List<SplitPart> parts;
+            try (PDDocument document = op.load(() -> documentLoader.open(spooled))) {
+                parts = planSplit(document.getNumberOfPages(), groups);
+            }
+
             String baseName = getBaseFilename(originalFilename, "split");
+            File targetDir = getUploadDir();
+            if (zip) {
+                partsDir = Files.createTempDirectory(targetDir.toPath(), "split-");
+                targetDir = partsDir.toFile();
+            }
+
+            int totalPages = parts.stream().mapToInt(part -> part.pages().size()).sum();
+            ProgressTracker tracker = new ProgressTracker(progress, totalPages);
+            List<File> partFiles = writePartsInParallel(source, parts, targetDir, baseName, !zip, tracker);
+
+            if (zip) {
+                File zipFile = createOutputFile(originalFilename, "split", ".zip");
+                op.save(() -> {
+                    writeZip(zipFile, partFiles);
+                    return zipFile;
+                });
+                return op.complete(new PdfOperationResult(true, "PDF split into " + partFiles.size() + " documents", 
+                    zipFile.getName()));
+            }
+
+            List<String> outputFiles = new ArrayList<>();
+            for (File partFile : partFiles) {
+                op.output(partFile);
+                outputFiles.add(partFile.getName());
+            }
+            return op.complete(new PdfOperationResult(true, "PDF split into " + outputFiles.size() + " documents", 
+                String.join(",", outputFiles)));
+        } catch (Exception e) {
+            throw new PdfProcessingException("Failed to split PDF: " + e.getMessage(), e);
+        } finally {
+            deleteSpooled(source);
+            if (partsDir != null) {
+                FileSystemUtils.deleteRecursively(partsDir.toFile());
+            }
+        }
+    }
 
-            if (groups == null || groups.trim().isEmpty()) {
-                // Split into individual pages (legacy behavior)
-                for (int i = 0; i < pageCount; i++) {
-                    PDDocument singlePageDoc = new PDDocument();
-                    singlePageDoc.addPage(document.getPage(i));
-                    
-                    File outputFile = new File(getUploadDir(),
-                        baseName + "_page" + (i + 1) + "_" + UUID.randomUUID().toString().substring(0, 8) + ".pdf");
-                    singlePageDoc.save(outputFile);
-                    outputFiles.add(outputFile.getName());
-                    singlePageDoc.close();
+    /**
+     * Work out which pages go into each split part
+     */
+    private List<SplitPart> planSplit(int pageCount, String groups) {
+        List<SplitPart> parts = new ArrayList<>();
+        if (groups == null || groups.trim().isEmpty()) {
+            // Split into individual pages (legacy behavior)
+            for (int i = 1; i <= pageCount; i++) {
+                parts.add(new SplitPart("page" + i, List.of(i)));
+            }
+        } else {
+            // Split into custom groups; groups without valid pages are skipped
+            String[] groupArray = groups.split(";");
+            int groupNum = 1;
+            for (String group : groupArray) {
+                List<Integer> pageNums = parsePageGroup(group.trim(), pageCount);
+                if (!pageNums.isEmpty()) {
+                    parts.add(new SplitPart("part" + groupNum, pageNums));
                 }
-            } else {
-                // Split into custom groups
-                String[] groupArray = groups.split(";");
-                int groupNum = 1;
-                for (String group : groupArray) {
-                    PDDocument groupDoc = new PDDocument();
-                    List<Integer> pageNums = parsePageGroup(group.trim(), pageCount);
-                    
-                    for (Integer pageNum : pageNums) {
-                        if (pageNum > 0 && pageNum <= pageCount) {
-                            groupDoc.addPage(document.getPage(pageNum - 1));
-                        }
-                    }
-                    
-                    if (groupDoc.getNumberOfPages() > 0) {
-                        File outputFile = new File(getUploadDir(),
-                            baseName + "_part" + groupNum + "_" + UUID.randomUUID().toString().substring(0, 8) + ".pdf");
-                        groupDoc.save(outputFile);
-                        outputFiles.add(outputFile.getName());
+                groupNum++;
+            }
+        }
+        return parts;
+    }
+
+    private List<File> writePartsInParallel(Path source, List<SplitPart> parts, File targetDir, 
+            String baseName, boolean uniqueNames, ProgressTracker tracker) throws IOException {
+        if (parts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int workers = Math.min(workerPool.getParallelism(), parts.size());
+        int batchSize = (parts.size() + workers - 1) / workers;
+        List<Callable<List<File>>> batches = new ArrayList<>();
+        for (int start = 0; start < parts.size(); start += batchSize) {
+            List<SplitPart> batch = parts.subList(start, Math.min(parts.size(), start + batchSize));
+            batches.add(() -> writeParts(source, batch, targetDir, baseName, uniqueNames, tracker));
+        }
+
+        List<File> partFiles = new ArrayList<>();
+        for (List<File> written : workerPool.invokeAll(batches)) {
+            partFiles.addAll(written);
+        }
+        return partFiles;
+    }
+
+    private List<File> writeParts(Path source, List<SplitPart> parts, File targetDir, 
+            String baseName, boolean uniqueNames, ProgressTracker tracker) throws IOException {
+        List<File> written = new ArrayList<>();
+        try (PDDocument view = documentLoader.open(source)) {
+            for (SplitPart part : parts) {
+                try (PDDocument partDoc = documentLoader.createDocument()) {
+                    for (Integer pageNum : part.pages()) {
+                        partDoc.addPage(view.getPage(pageNum - 1));
                     }
-                    groupDoc.close();
-                    groupNum++;
+                    String suffix = uniqueNames ? "_" + UUID.randomUUID().toString().substring(0, 8) : "";
+                    File outputFile = new File(targetDir, baseName + "_" + part.label() + suffix + ".pdf");
+                    partDoc.save(outputFile);
+                    written.add(outputFile);
+                    tracker.advance(part.pages().size());
                 }
             }
+        }
+        return written;
+    }
 
-            return new PdfOperationResult(true, "PDF split into " + outputFiles.size() + " documents", 
-                String.join(",", outputFiles));
-        } catch (Exception e) {
-            throw new PdfProcessingException("Failed to split PDF: " + e.getMessage(), e);
+    private void writeZip(File zipFile, List<File> entries) throws IOException {
+        try (ZipOutputStream zipOut = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)))) {
+            // Parts are already Flate-compressed; spend little time recompressing them
+            zipOut.setLevel(Deflater.BEST_SPEED);
+            for (File entry : entries) {
+                zipOut.putNextEntry(new ZipEntry(entry.getName()));
+                Files.copy(entry.toPath(), zipOut);
+                zipOut.closeEntry();
+            }
         }
     }
 
+    private record SplitPart(String label, List<Integer> pages) {
+    }
+
     /**
      * Parse page group string like "1-3" or "1,2,5" or "1-3,5"
      */
@@ -162,8 +352,15 @@ public class PdfService {
      */
     public PdfOperationResult extractPages(MultipartFile file, List<Integer> pageNumbers, String originalFilename) 
             throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            PDDocument extractedDoc = new PDDocument();
+        String cacheKey = resultCache.key(file, "extract", pageNumbers, originalFilename);
+        String cached = resultCache.lookup(cacheKey);
+        if (cached != null) {
+            return new PdfOperationResult(true, "Pages extracted successfully", cached);
+        }
+
+        try (PdfMetrics.Operation op = metrics.start("extract", file);
+                PDDocument document = op.load(() -> documentLoader.load(file))) {
+            PDDocument extractedDoc = documentLoader.createDocument();
 
             for (Integer pageNum : pageNumbers) {
                 if (pageNum > 0 && pageNum <= document.getNumberOfPages()) {
@@ -171,10 +368,11 @@ public class PdfService {
                 }
             }
 
-            File outputFile = saveDocument(extractedDoc, "extracted", originalFilename);
+            File outputFile = op.save(() -> saveDocument(extractedDoc, "extracted", originalFilename));
+            resultCache.put(cacheKey, outputFile);
             extractedDoc.close();
 
-            return new PdfOperationResult(true, "Pages extracted successfully", outputFile.getName());
+            return op.complete(new PdfOperationResult(true, "Pages extracted successfully", outputFile.getName()));
         } catch (Exception e) {
             throw new PdfProcessingException("Failed to extract pages: " + e.getMessage(), e);
         }
@@ -185,19 +383,20 @@ public class PdfService {
      */
     public PdfOperationResult removePages(MultipartFile file, List<Integer> pageNumbers, String originalFilename) 
             throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            // Sort in reverse order to remove from end to start
-            pageNumbers.sort((a, b) -> b - a);
-            
-            for (Integer pageNum : pageNumbers) {
-                if (pageNum > 0 && pageNum <= document.getNumberOfPages()) {
-                    document.removePage(pageNum - 1);
-                }
-            }
+        String cacheKey = resultCache.key(file, "remove", pageNumbers, originalFilename);
+        String cached = resultCache.lookup(cacheKey);
+        if (cached != null) {
+            return new PdfOperationResult(true, "Pages removed successfully", cached);
+        }
 
-            File outputFile = saveDocument(document, "removed", originalFilename);
+        try (PdfMetrics.Operation op = metrics.start("remove", file);
+                PDDocument document = op.load(() -> documentLoader.load(file))) {
+            applyRemovePages(document, pageNumbers);
 
-            return new PdfOperationResult(true, "Pages removed successfully", outputFile.getName());
+            File outputFile = op.save(() -> saveDocument(document, "removed", originalFilename));
+            resultCache.put(cacheKey, outputFile);
+
+            return op.complete(new PdfOperationResult(true, "Pages removed successfully", outputFile.getName()));
         } catch (Exception e) {
             throw new PdfProcessingException("Failed to remove pages: " + e.getMessage(), e);
         }
@@ -209,39 +408,31 @@ public class PdfService {
     public PdfOperationResult addWatermark(MultipartFile file, String watermarkText, 
             Float x, Float y, float rotation, float opacity, String originalFilename) 
             throws PdfProcessingException {
-        // Enforce max 30 chars
-        if (watermarkText.length() > 30) {
-            watermarkText = watermarkText.substring(0, 30);
+        return addWatermark(file, watermarkText, null, x, y, rotation, opacity, originalFilename);
+    }
+
+    /**
+     * Add watermark to PDF with positioning, in a registered or Standard 14 font
+     * @param fontName null for the default Helvetica Bold
+     */
+    public PdfOperationResult addWatermark(MultipartFile file, String watermarkText, String fontName,
+            Float x, Float y, float rotation, float opacity, String originalFilename) 
+            throws PdfProcessingException {
+        String text = limitWatermarkText(watermarkText);
+        String cacheKey = resultCache.key(file, "watermark", text, fontName, x, y, rotation, opacity, originalFilename);
+        String cached = resultCache.lookup(cacheKey);
+        if (cached != null) {
+            return new PdfOperationResult(true, "Watermark added successfully", cached);
         }
-        
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            for (PDPage page : document.getPages()) {
-                PDPageContentStream contentStream = new PDPageContentStream(
-                    document, page, PDPageContentStream.AppendMode.APPEND, true, true);
-
-                // Set watermark properties with opacity
-                int grayValue = (int)(255 * (1 - opacity));
-                contentStream.setNonStrokingColor(new Color(grayValue, grayValue, grayValue));
-                contentStream.beginText();
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 60);
-                
-                PDRectangle pageSize = page.getMediaBox();
-                float pageWidth = pageSize.getWidth();
-                float pageHeight = pageSize.getHeight();
-                
-                // Use provided position or center
-                float posX = (x != null) ? x : pageWidth / 2;
-                float posY = (y != null) ? y : pageHeight / 2;
-                
-                contentStream.setTextMatrix(Matrix.getRotateInstance(Math.toRadians(rotation), posX, posY));
-                contentStream.showText(watermarkText);
-                contentStream.endText();
-                contentStream.close();
-            }
-
-            File outputFile = saveDocument(document, "watermarked", originalFilename);
-
-            return new PdfOperationResult(true, "Watermark added successfully", outputFile.getName());
+
+        try (PdfMetrics.Operation op = metrics.start("watermark", file);
+                PDDocument document = op.load(() -> documentLoader.load(file))) {
+            applyWatermark(document, fontRegistry.forDocument(document), text, fontName, x, y, rotation, opacity);
+
+            File outputFile = op.save(() -> saveDocument(document, "watermarked", originalFilename));
+            resultCache.put(cacheKey, outputFile);
+
+            return op.complete(new PdfOperationResult(true, "Watermark added successfully", outputFile.getName()));
         } catch (Exception e) {
             throw new PdfProcessingException("Failed to add watermark: " + e.getMessage(), e);
         }
@@ -253,42 +444,35 @@ public class PdfService {
     public PdfOperationResult addText(MultipartFile file, String text, float x, float y, int pageNum, 
             float fontSize, String fontName, String fontColor, String originalFilename) 
             throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            if (pageNum < 1 || pageNum > document.getNumberOfPages()) {
-                throw new PdfProcessingException("Invalid page number");
-            }
-
-            PDPage page = document.getPage(pageNum - 1);
-            PDPageContentStream contentStream = new PDPageContentStream(
-                document, page, PDPageContentStream.AppendMode.APPEND, true, true);
+        return addText(file, text, x, y, pageNum, fontSize, fontName, fontColor, false, originalFilename);
+    }
 
-            // Parse font name
-            Standard14Fonts.FontName font = Standard14Fonts.FontName.HELVETICA;
-            try {
-                font = Standard14Fonts.FontName.valueOf(fontName.toUpperCase().replace("-", "_"));
-            } catch (IllegalArgumentException ignored) {
-                // Use default HELVETICA if invalid font name
-            }
+    /**
+     * Add text to PDF with font customization
+     * @param incremental append the change as an incremental update instead of rewriting the file
+     */
+    public PdfOperationResult addText(MultipartFile file, String text, float x, float y, int pageNum, 
+            float fontSize, String fontName, String fontColor, boolean incremental, String originalFilename) 
+            throws PdfProcessingException {
+        String cacheKey = resultCache.key(file, "text", text, x, y, pageNum, fontSize, fontName, fontColor, 
+            incremental, originalFilename);
+        String cached = resultCache.lookup(cacheKey);
+        if (cached != null) {
+            return new PdfOperationResult(true, "Text added successfully", cached);
+        }
 
-            // Parse color from hex
-            Color color = Color.BLACK;
-            try {
-                color = Color.decode(fontColor);
-            } catch (NumberFormatException ignored) {
-                // Use black if invalid color
+        try (PdfMetrics.Operation op = metrics.start("text", file);
+                PDDocument document = op.load(() -> documentLoader.load(file))) {
+            FontRegistry.DocumentFonts fonts = fontRegistry.forDocument(document);
+            applyText(document, fonts, text, x, y, pageNum, fontSize, fontName, fontColor);
+            if (incremental) {
+                fonts.subset();
             }
 
-            contentStream.beginText();
-            contentStream.setFont(new PDType1Font(font), fontSize);
-            contentStream.setNonStrokingColor(color);
-            contentStream.newLineAtOffset(x, y);
-            contentStream.showText(text);
-            contentStream.endText();
-            contentStream.close();
-
-            File outputFile = saveDocument(document, "text_added", originalFilename);
+            File outputFile = op.save(() -> saveDocument(document, "text_added", originalFilename, incremental));
+            resultCache.put(cacheKey, outputFile);
 
-            return new PdfOperationResult(true, "Text added successfully", outputFile.getName());
+            return op.complete(new PdfOperationResult(true, "Text added successfully", outputFile.getName()));
         } catch (Exception e) {
             throw new PdfProcessingException("Failed to add text: " + e.getMessage(), e);
         }
@@ -299,134 +483,400 @@ public class PdfService {
      */
     public PdfOperationResult addSignature(MultipartFile pdfFile, MultipartFile signatureFile, 
             float x, float y, int pageNum, String originalFilename) throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(pdfFile.getBytes())) {
-            if (pageNum < 1 || pageNum > document.getNumberOfPages()) {
-                throw new PdfProcessingException("Invalid page number");
-            }
-
-            PDPage page = document.getPage(pageNum - 1);
-            PDImageXObject pdImage = PDImageXObject.createFromByteArray(
-                document, signatureFile.getBytes(), signatureFile.getOriginalFilename());
-
-            PDPageContentStream contentStream = new PDPageContentStream(
-                document, page, PDPageContentStream.AppendMode.APPEND, true, true);
+        return addSignature(pdfFile, signatureFile, x, y, pageNum, false, originalFilename);
+    }
 
-            // Draw signature with appropriate size
-            float scale = 0.3f;
-            contentStream.drawImage(pdImage, x, y, 
-                pdImage.getWidth() * scale, pdImage.getHeight() * scale);
-            contentStream.close();
+    /**
+     * Add signature image to PDF
+     * @param incremental append the change as an incremental update instead of rewriting the file
+     */
+    public PdfOperationResult addSignature(MultipartFile pdfFile, MultipartFile signatureFile, 
+            float x, float y, int pageNum, boolean incremental, String originalFilename) throws PdfProcessingException {
+        try (PdfMetrics.Operation op = metrics.start("signature", pdfFile);
+                PDDocument document = op.load(() -> documentLoader.load(pdfFile))) {
+            applySignature(document, signatureFile, x, y, pageNum);
 
-            File outputFile = saveDocument(document, "signed", originalFilename);
+            File outputFile = op.save(() -> saveDocument(document, "signed", originalFilename, incremental));
 
-            return new PdfOperationResult(true, "Signature added successfully", outputFile.getName());
+            return op.complete(new PdfOperationResult(true, "Signature added successfully", outputFile.getName()));
         } catch (Exception e) {
             throw new PdfProcessingException("Failed to add signature: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Redact text in PDF (simple black box redaction)
+     * Redact an area of a page, removing the text and image content under it
      */
     public PdfOperationResult redactText(MultipartFile file, float x, float y, float width, 
             float height, int pageNum, String originalFilename) throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
+        String cacheKey = resultCache.key(file, "redact", x, y, width, height, pageNum, originalFilename);
+        String cached = resultCache.lookup(cacheKey);
+        if (cached != null) {
+            return new PdfOperationResult(true, "Content redacted successfully", cached);
+        }
+
+        try (PdfMetrics.Operation op = metrics.start("redact", file);
+                PDDocument document = op.load(() -> documentLoader.load(file))) {
             if (pageNum < 1 || pageNum > document.getNumberOfPages()) {
                 throw new PdfProcessingException("Invalid page number");
             }
 
-            PDPage page = document.getPage(pageNum - 1);
-            PDPageContentStream contentStream = new PDPageContentStream(
-                document, page, PDPageContentStream.AppendMode.APPEND, true, true);
+            redactor.redact(document, RedactionIndex.of(pageNum, x, y, width, height));
 
-            // Draw black rectangle for redaction
-            contentStream.setNonStrokingColor(Color.BLACK);
-            contentStream.addRect(x, y, width, height);
-            contentStream.fill();
-            contentStream.close();
-
-            File outputFile = saveDocument(document, "redacted", originalFilename);
+            File outputFile = op.save(() -> saveDocument(document, "redacted", originalFilename));
+            resultCache.put(cacheKey, outputFile);
 
-            return new PdfOperationResult(true, "Content redacted successfully", outputFile.getName());
+            return op.complete(new PdfOperationResult(true, "Content redacted successfully", outputFile.getName()));
         } catch (Exception e) {
             throw new PdfProcessingException("Failed to redact content: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Redact multiple areas in PDF
+     * Redact multiple areas in PDF, rewriting each affected page once
      */
     public PdfOperationResult redactMultiple(MultipartFile file, String redactionsJson, String originalFilename) 
             throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            // Parse JSON array of redactions: [{x, y, width, height, pageNum}, ...]
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            java.util.List<java.util.Map<String, Object>> redactions = mapper.readValue(redactionsJson, 
-                new com.fasterxml.jackson.core.type.TypeReference<java.util.List<java.util.Map<String, Object>>>(){});
-            
-            for (java.util.Map<String, Object> redaction : redactions) {
-                int pageNum = ((Number) redaction.get("pageNum")).intValue();
-                float x = ((Number) redaction.get("x")).floatValue();
-                float y = ((Number) redaction.get("y")).floatValue();
-                float width = ((Number) redaction.get("width")).floatValue();
-                float height = ((Number) redaction.get("height")).floatValue();
-                
-                if (pageNum < 1 || pageNum > document.getNumberOfPages()) continue;
-                
-                PDPage page = document.getPage(pageNum - 1);
-                PDPageContentStream contentStream = new PDPageContentStream(
-                    document, page, PDPageContentStream.AppendMode.APPEND, true, true);
-                
-                contentStream.setNonStrokingColor(Color.BLACK);
-                contentStream.addRect(x, y, width, height);
-                contentStream.fill();
-                contentStream.close();
-            }
-
-            File outputFile = saveDocument(document, "redacted", originalFilename);
-
-            return new PdfOperationResult(true, "Content redacted successfully", outputFile.getName());
+        String cacheKey = resultCache.key(file, "redact-multiple", redactionsJson, originalFilename);
+        String cached = resultCache.lookup(cacheKey);
+        if (cached != null) {
+            return new PdfOperationResult(true, "Content redacted successfully", cached);
+        }
+
+        // Reject malformed requests before the upload is touched
+        RedactionIndex redactions = RedactionIndex.parse(redactionsJson);
+
+        Path source = null;
+        try (PdfMetrics.Operation op = metrics.start("redact-multiple", file)) {
+            Path spooled = op.load(() -> documentLoader.spool(file));
+            source = spooled;
+            try (PDDocument document = op.load(() -> documentLoader.open(spooled))) {
+                redactor.redact(document, spooled, redactions);
+
+                File outputFile = op.save(() -> saveDocument(document, "redacted", originalFilename));
+                resultCache.put(cacheKey, outputFile);
+
+                return op.complete(new PdfOperationResult(true, "Content redacted successfully", outputFile.getName()));
+            }
         } catch (Exception e) {
             throw new PdfProcessingException("Failed to redact content: " + e.getMessage(), e);
+        } finally {
+            deleteSpooled(source);
         }
     }
 
     /**
-     * Convert PDF to Markdown
+     * Search the document for regular expressions and redact every match, returning the
+     * number of matches per page. Pages are searched and rewritten in parallel.
+     * <p>
+     * Results are not cached: the result cache only holds output names, not match counts.
      */
-    public PdfOperationResult convertToMarkdown(MultipartFile file, String originalFilename) throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setSortByPosition(true);
-            String text = stripper.getText(document);
+    public RedactionSearchResult redactMatches(MultipartFile file, List<String> patterns, String originalFilename) 
+            throws PdfProcessingException {
+        List<Pattern> compiled = compilePatterns(patterns);
 
-            // Check if any text was extracted
-            if (text == null || text.trim().isEmpty()) {
-                // Return a message indicating no text could be extracted
-                text = "[No extractable text found in this PDF. The document may contain only images or scanned content.]";
+        Path source = null;
+        try (PdfMetrics.Operation op = metrics.start("redact-search", file)) {
+            Path spooled = op.load(() -> documentLoader.spool(file));
+            source = spooled;
+            try (PDDocument document = op.load(() -> documentLoader.open(spooled))) {
+                Map<Integer, Integer> matches = redactor.redactMatches(document, spooled, compiled);
+
+                File outputFile = op.save(() -> saveDocument(document, "redacted", originalFilename));
+                return op.complete(new RedactionSearchResult(true, "Content redacted successfully", 
+                    outputFile.getName(), matches));
             }
+        } catch (Exception e) {
+            throw new PdfProcessingException("Failed to redact content: " + e.getMessage(), e);
+        } finally {
+            deleteSpooled(source);
+        }
+    }
+
+    private List<Pattern> compilePatterns(List<String> patterns) throws PdfProcessingException {
+        if (patterns == null || patterns.isEmpty()) {
+            throw new PdfProcessingException("At least one pattern is required");
+        }
+        List<Pattern> compiled = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isBlank()) {
+                throw new PdfProcessingException("Patterns must not be empty");
+            }
+            if (pattern.length() > redactor.getMaxPatternLength()) {
+                throw new PdfProcessingException("Invalid pattern: longer than " 
+                    + redactor.getMaxPatternLength() + " characters");
+            }
+            try {
+                compiled.add(Pattern.compile(pattern));
+            } catch (PatternSyntaxException e) {
+                throw new PdfProcessingException("Invalid pattern: " + e.getDescription(), e);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Apply an ordered list of edits to one document, loading and saving it only once.
+     * <p>
+     * Steps run in order on the same in-memory document, so page numbers in a step
+     * refer to the document as left by the previous steps (e.g. after a removal).
+     * @param signatureFile image used by {@code add-signature} steps, may be null otherwise
+     */
+    public PdfOperationResult runPipeline(MultipartFile file, List<PipelineStep> steps, 
+            MultipartFile signatureFile, String originalFilename) throws PdfProcessingException {
+        if (steps == null || steps.isEmpty()) {
+            throw new PdfProcessingException("Pipeline must contain at least one step");
+        }
+
+        // The signature image is not part of the key, so signed pipelines are never cached
+        String cacheKey = signatureFile == null 
+            ? resultCache.key(file, "pipeline", steps, originalFilename) : null;
+        String cached = resultCache.lookup(cacheKey);
+        if (cached != null) {
+            return new PdfOperationResult(true, "Pipeline applied " + steps.size() + " operations", cached);
+        }
+
+        try (PdfMetrics.Operation op = metrics.start("pipeline", file);
+                PDDocument document = op.load(() -> documentLoader.load(file))) {
+            FontRegistry.DocumentFonts fonts = fontRegistry.forDocument(document);
+            for (PipelineStep step : steps) {
+                applyStep(document, fonts, step, signatureFile);
+            }
+
+            File outputFile = op.save(() -> saveDocument(document, "edited", originalFilename));
+            resultCache.put(cacheKey, outputFile);
+
+            return op.complete(new PdfOperationResult(true, 
+                "Pipeline applied " + steps.size() + " operations", outputFile.getName()));
+        } catch (Exception e) {
+            throw new PdfProcessingException("Failed to run pipeline: " + e.getMessage(), e);
+        }
+    }
+
+    private void applyStep(PDDocument document, FontRegistry.DocumentFonts fonts, PipelineStep step, 
+            MultipartFile signatureFile) throws PdfProcessingException, IOException {
+        String operation = step.getOperation() == null ? "" : step.getOperation();
+        switch (operation) {
+            case "remove" -> applyRemovePages(document, requireStepValue(step.getPages(), operation, "pages"));
+            case "watermark" -> applyWatermark(document, fonts, 
+                limitWatermarkText(requireStepValue(step.getText(), operation, "text")), 
+                step.getFontName(), step.getX(), step.getY(), 
+                Objects.requireNonNullElse(step.getRotation(), 45f), 
+                Objects.requireNonNullElse(step.getOpacity(), 0.3f));
+            case "add-text" -> applyText(document, fonts, 
+                requireStepValue(step.getText(), operation, "text"), 
+                Objects.requireNonNullElse(step.getX(), 50f), 
+                Objects.requireNonNullElse(step.getY(), 750f), 
+                Objects.requireNonNullElse(step.getPage(), 1), 
+                Objects.requireNonNullElse(step.getFontSize(), 12f), 
+                Objects.requireNonNullElse(step.getFontName(), "HELVETICA"), 
+                Objects.requireNonNullElse(step.getFontColor(), "#000000"));
+            case "redact" -> applyRedactions(document, requireStepValue(step.getRedactions(), operation, "redactions"));
+            case "add-signature" -> applySignature(document, 
+                requireStepValue(signatureFile, operation, "signature"), 
+                Objects.requireNonNullElse(step.getX(), 400f), 
+                Objects.requireNonNullElse(step.getY(), 100f), 
+                Objects.requireNonNullElse(step.getPage(), 1));
+            default -> throw new PdfProcessingException("Unknown pipeline operation: " + operation);
+        }
+    }
+
+    private <T> T requireStepValue(T value, String operation, String field) throws PdfProcessingException {
+        if (value == null) {
+            throw new PdfProcessingException("Pipeline step '" + operation + "' requires " + field);
+        }
+        return value;
+    }
+
+    private void applyRemovePages(PDDocument document, List<Integer> pageNumbers) {
+        // Sort in reverse order to remove from end to start
+        List<Integer> sorted = new ArrayList<>(pageNumbers);
+        sorted.sort((a, b) -> b - a);
+        
+        for (Integer pageNum : sorted) {
+            if (pageNum > 0 && pageNum <= document.getNumberOfPages()) {
+                document.removePage(pageNum - 1);
+            }
+        }
+    }
+
+    /**
+     * Enforce max 30 chars
+     */
+    private String limitWatermarkText(String watermarkText) {
+        return watermarkText.length() > 30 ? watermarkText.substring(0, 30) : watermarkText;
+    }
 
-            // Simple markdown conversion
-            StringBuilder markdown = new StringBuilder();
-            markdown.append("# PDF Content\n\n");
+    /**
+     * Draw the watermark once into a shared Form XObject and reference it from every page.
+     * Each page only gets a tiny, uncompressed stream that positions the form, so the
+     * cost and output growth per page stay nearly constant regardless of the text.
+     */
+    private void applyWatermark(PDDocument document, FontRegistry.DocumentFonts fonts, String watermarkText, 
+            String fontName, Float x, Float y, float rotation, float opacity) throws IOException {
+        PDFont font = fonts.getFont(fontName, Standard14Fonts.FontName.HELVETICA_BOLD);
+        PDFormXObject watermark = createWatermarkForm(document, watermarkText, font, rotation, opacity);
+
+        for (PDPage page : document.getPages()) {
+            PDRectangle pageSize = page.getMediaBox();
             
-            String[] lines = text.split("\n");
-            for (String line : lines) {
-                if (line.trim().isEmpty()) {
-                    markdown.append("\n");
+            // Use provided position or center
+            float posX = (x != null) ? x : pageSize.getWidth() / 2;
+            float posY = (y != null) ? y : pageSize.getHeight() / 2;
+            
+            try (PDPageContentStream contentStream = new PDPageContentStream(
+                    document, page, PDPageContentStream.AppendMode.APPEND, false, true)) {
+                contentStream.transform(Matrix.getTranslateInstance(posX, posY));
+                contentStream.drawForm(watermark);
+            }
+        }
+    }
+
+    /**
+     * Watermark text drawn at the form origin, rotated, with a constant alpha for opacity
+     */
+    private PDFormXObject createWatermarkForm(PDDocument document, String watermarkText, PDFont font, 
+            float rotation, float opacity) throws IOException {
+        float fontSize = 60;
+        // Any rotation of the text stays within its length (plus one line height) of the origin
+        float extent = font.getStringWidth(watermarkText) / 1000 * fontSize + fontSize;
+
+        PDFormXObject form = new PDFormXObject(document);
+        form.setResources(new PDResources());
+        form.setBBox(new PDRectangle(-extent, -extent, 2 * extent, 2 * extent));
+
+        PDExtendedGraphicsState alpha = new PDExtendedGraphicsState();
+        alpha.setNonStrokingAlphaConstant(opacity);
+
+        try (PDFormContentStream contentStream = new PDFormContentStream(form)) {
+            contentStream.setGraphicsStateParameters(alpha);
+            contentStream.setNonStrokingColor(Color.BLACK);
+            contentStream.beginText();
+            contentStream.setFont(font, fontSize);
+            contentStream.setTextMatrix(Matrix.getRotateInstance(Math.toRadians(rotation), 0, 0));
+            contentStream.showText(watermarkText);
+            contentStream.endText();
+        }
+        return form;
+    }
+
+    private void applyText(PDDocument document, FontRegistry.DocumentFonts fonts, String text, float x, float y, 
+            int pageNum, float fontSize, String fontName, String fontColor) throws PdfProcessingException, IOException {
+        if (pageNum < 1 || pageNum > document.getNumberOfPages()) {
+            throw new PdfProcessingException("Invalid page number");
+        }
+
+        PDPage page = document.getPage(pageNum - 1);
+        PDPageContentStream contentStream = new PDPageContentStream(
+            document, page, PDPageContentStream.AppendMode.APPEND, true, true);
+
+        // Registered font, else Standard 14 font, else default HELVETICA
+        PDFont font = fonts.getFont(fontName, Standard14Fonts.FontName.HELVETICA);
+
+        // Parse color from hex
+        Color color = Color.BLACK;
+        try {
+            color = Color.decode(fontColor);
+        } catch (NumberFormatException ignored) {
+            // Use black if invalid color
+        }
+
+        contentStream.beginText();
+        contentStream.setFont(font, fontSize);
+        contentStream.setNonStrokingColor(color);
+        contentStream.newLineAtOffset(x, y);
+        contentStream.showText(text);
+        contentStream.endText();
+        contentStream.close();
+    }
+
+    private void applySignature(PDDocument document, MultipartFile signatureFile, float x, float y, int pageNum) 
+            throws PdfProcessingException, IOException {
+        if (pageNum < 1 || pageNum > document.getNumberOfPages()) {
+            throw new PdfProcessingException("Invalid page number");
+        }
+
+        PDPage page = document.getPage(pageNum - 1);
+        PDImageXObject pdImage = PDImageXObject.createFromByteArray(
+            document, signatureFile.getBytes(), signatureFile.getOriginalFilename());
+
+        PDPageContentStream contentStream = new PDPageContentStream(
+            document, page, PDPageContentStream.AppendMode.APPEND, true, true);
+
+        // Draw signature with appropriate size
+        float scale = 0.3f;
+        contentStream.drawImage(pdImage, x, y, 
+            pdImage.getWidth() * scale, pdImage.getHeight() * scale);
+        contentStream.close();
+    }
+
+    /**
+     * Redact each area of [{x, y, width, height, pageNum}, ...]; areas on missing pages are skipped
+     */
+    private void applyRedactions(PDDocument document, List<RedactionArea> redactions) 
+            throws PdfProcessingException, IOException {
+        redactor.redact(document, RedactionIndex.of(redactions));
+    }
+
+    /**
+     * Convert PDF to Markdown
+     */
+    public PdfOperationResult convertToMarkdown(MultipartFile file, String originalFilename) throws PdfProcessingException {
+        return convertToMarkdown(file, originalFilename, ProgressListener.NONE);
+    }
+
+    /**
+     * Convert PDF to Markdown, reporting the pages extracted so far to {@code progress}
+     */
+    public PdfOperationResult convertToMarkdown(MultipartFile file, String originalFilename, 
+            ProgressListener progress) throws PdfProcessingException {
+        String cacheKey = resultCache.key(file, "markdown", originalFilename);
+        ResultCache.Hit cached = resultCache.find(cacheKey);
+        if (cached != null && cached.attachment() instanceof ConversionDetails details) {
+            return conversionResult("PDF converted to Markdown", cached.outputFilename(), details.imageOnlyPages());
+        }
+
+        Path source = null;
+        File partial = null;
+        try (PdfMetrics.Operation op = metrics.start("markdown", file)) {
+            Path spooled = op.load(() -> documentLoader.spool(file));
+            source = spooled;
+            File outputFile = createOutputFile(originalFilename, "markdown", ".md");
+            partial = outputFile;
+            List<Integer> imageOnlyPages;
+            try (PDDocument document = op.load(() -> documentLoader.open(spooled));
+                    Writer out = Files.newBufferedWriter(outputFile.toPath(), StandardCharsets.UTF_8)) {
+                imageOnlyPages = TextOperatorScan.imageOnlyPages(document);
+                ProgressTracker tracker = new ProgressTracker(progress, document.getNumberOfPages());
+                if (imageOnlyPages.size() < document.getNumberOfPages()) {
+                    textExtractor.writeTo(document, spooled, out, (view, firstPage, lastPage, chunkOut) -> {
+                        StructuredTextStripper stripper = new StructuredTextStripper(
+                            blocks -> MarkdownWriter.writePage(blocks, chunkOut), tracker);
+                        stripper.setStartPage(firstPage);
+                        stripper.setEndPage(lastPage);
+                        stripper.writeText(view, Writer.nullWriter());
+                    });
                 } else {
-                    markdown.append(line).append("\n\n");
+                    // No page shows text: skip extraction
+                    tracker.advance(document.getNumberOfPages());
                 }
             }
 
-            String baseName = getBaseFilename(originalFilename, "markdown");
-            File outputFile = new File(getUploadDir(), 
-                baseName + "_" + UUID.randomUUID().toString().substring(0, 8) + ".md");
-            Files.write(outputFile.toPath(), markdown.toString().getBytes());
+            // Check if any text was extracted
+            if (outputFile.length() == 0) {
+                Files.writeString(outputFile.toPath(), 
+                    "[No extractable text found in this PDF. The document may contain only images or scanned content.]\n");
+            }
+            partial = null;
+            op.output(outputFile);
+            resultCache.put(cacheKey, outputFile, new ConversionDetails(imageOnlyPages));
 
-            return new PdfOperationResult(true, "PDF converted to Markdown", outputFile.getName());
+            return op.complete(conversionResult("PDF converted to Markdown", outputFile.getName(), imageOnlyPages));
         } catch (Exception e) {
+            deletePartialOutput(partial);
             throw new PdfProcessingException("Failed to convert to Markdown: " + e.getMessage(), e);
+        } finally {
+            deleteSpooled(source);
         }
     }
 
@@ -434,41 +884,111 @@ public class PdfService {
      * Convert PDF to DOCX
      */
     public PdfOperationResult convertToDocx(MultipartFile file, String originalFilename) throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setSortByPosition(true);
-            String text = stripper.getText(document);
+        return convertToDocx(file, originalFilename, ProgressListener.NONE);
+    }
 
-            XWPFDocument docxDocument = new XWPFDocument();
-            
-            // Check if any text was extracted
-            if (text == null || text.trim().isEmpty()) {
-                // Add a paragraph indicating no text was found
-                XWPFParagraph paragraph = docxDocument.createParagraph();
-                XWPFRun run = paragraph.createRun();
-                run.setText("[No extractable text found in this PDF. The document may contain only images or scanned content.]");
-            } else {
-                String[] paragraphs = text.split("\n\n");
-                for (String para : paragraphs) {
-                    if (!para.trim().isEmpty()) {
-                        XWPFParagraph paragraph = docxDocument.createParagraph();
-                        XWPFRun run = paragraph.createRun();
-                        run.setText(para.trim());
-                    }
-                }
-            }
+    /**
+     * Convert PDF to DOCX, reporting the pages extracted so far to {@code progress}
+     */
+    public PdfOperationResult convertToDocx(MultipartFile file, String originalFilename, 
+            ProgressListener progress) throws PdfProcessingException {
+        String cacheKey = resultCache.key(file, "docx", originalFilename);
+        ResultCache.Hit cached = resultCache.find(cacheKey);
+        if (cached != null && cached.attachment() instanceof ConversionDetails details) {
+            return conversionResult("PDF converted to DOCX", cached.outputFilename(), details.imageOnlyPages());
+        }
 
-            String baseName = getBaseFilename(originalFilename, "docx");
-            File outputFile = new File(getUploadDir(), 
-                baseName + "_" + UUID.randomUUID().toString().substring(0, 8) + ".docx");
-            try (FileOutputStream out = new FileOutputStream(outputFile)) {
-                docxDocument.write(out);
+        Path source = null;
+        File partial = null;
+        try (PdfMetrics.Operation op = metrics.start("docx", file)) {
+            Path spooled = op.load(() -> documentLoader.spool(file));
+            source = spooled;
+            File outputFile = createOutputFile(originalFilename, "docx", ".docx");
+            partial = outputFile;
+            AtomicBoolean hasText = new AtomicBoolean();
+            List<Integer> imageOnlyPages;
+            try (PDDocument document = op.load(() -> documentLoader.open(spooled))) {
+                imageOnlyPages = TextOperatorScan.imageOnlyPages(document);
+                boolean extract = imageOnlyPages.size() < document.getNumberOfPages();
+                ProgressTracker tracker = new ProgressTracker(progress, document.getNumberOfPages());
+                DocxWriter.write(outputFile.toPath(), out -> {
+                    if (extract) {
+                        textExtractor.writeTo(document, spooled, out, (view, firstPage, lastPage, chunkOut) -> {
+                            StructuredTextStripper stripper = new StructuredTextStripper(blocks -> {
+                                if (!blocks.isEmpty()) {
+                                    hasText.set(true);
+                                }
+                                DocxWriter.writePage(blocks, chunkOut);
+                            }, tracker);
+                            stripper.setStartPage(firstPage);
+                            stripper.setEndPage(lastPage);
+                            stripper.writeText(view, Writer.nullWriter());
+                        });
+                    } else {
+                        // No page shows text: skip extraction
+                        tracker.advance(document.getNumberOfPages());
+                    }
+                    // Check if any text was extracted
+                    if (!hasText.get()) {
+                        DocxWriter.writePage(List.of(StructuredTextStripper.Block.paragraph(
+                            "[No extractable text found in this PDF. The document may contain only images or scanned content.]")),
+                            out);
+                    }
+                });
             }
-            docxDocument.close();
+            partial = null;
+            op.output(outputFile);
+            resultCache.put(cacheKey, outputFile, new ConversionDetails(imageOnlyPages));
 
-            return new PdfOperationResult(true, "PDF converted to DOCX", outputFile.getName());
+            return op.complete(conversionResult("PDF converted to DOCX", outputFile.getName(), imageOnlyPages));
         } catch (Exception e) {
+            deletePartialOutput(partial);
             throw new PdfProcessingException("Failed to convert to DOCX: " + e.getMessage(), e);
+        } finally {
+            deleteSpooled(source);
+        }
+    }
+
+    /**
+     * Cached with a conversion's output, so a cache hit is answered without opening the document
+     */
+    private record ConversionDetails(List<Integer> imageOnlyPages) {
+        ConversionDetails {
+            imageOnlyPages = List.copyOf(imageOnlyPages);
+        }
+    }
+
+    private static PdfOperationResult conversionResult(String message, String outputFilename, 
+            List<Integer> imageOnlyPages) {
+        PdfOperationResult result = new PdfOperationResult(true, message, outputFilename);
+        result.setImageOnlyPages(imageOnlyPages);
+        return result;
+    }
+
+    /**
+     * Remove a spooled upload once the operation no longer needs it
+     */
+    private void deleteSpooled(Path source) {
+        if (source != null) {
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException ignored) {
+                // Scratch files are best-effort cleanup
+            }
+        }
+    }
+
+    /**
+     * Remove an output that was streamed to the upload directory by a conversion that
+     * then failed, so a truncated file is never downloaded or counted against the quota
+     */
+    private void deletePartialOutput(File output) {
+        if (output != null) {
+            try {
+                Files.deleteIfExists(output.toPath());
+            } catch (IOException ignored) {
+                // Left for the storage sweep
+            }
         }
     }
 
@@ -476,11 +996,12 @@ public class PdfService {
      * Get PDF information
      */
     public PdfOperationResult getPdfInfo(MultipartFile file) throws PdfProcessingException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
+        try (PdfMetrics.Operation op = metrics.start("info", file);
+                PDDocument document = op.load(() -> documentLoader.load(file))) {
             int pageCount = document.getNumberOfPages();
             String info = String.format("Pages: %d", pageCount);
 
-            return new PdfOperationResult(true, info, null);
+            return op.complete(new PdfOperationResult(true, info, null));
         } catch (Exception e) {
             throw new PdfProcessingException("Failed to get PDF info: " + e.getMessage(), e);
         }
@@ -490,13 +1011,40 @@ public class PdfService {
      * Helper method to save document with original filename and operation suffix
      */
     private File saveDocument(PDDocument document, String operationSuffix, String originalFilename) throws IOException {
-        String baseName = getBaseFilename(originalFilename, operationSuffix);
-        File outputFile = new File(getUploadDir(), 
-            baseName + "_" + UUID.randomUUID().toString().substring(0, 8) + ".pdf");
-        document.save(outputFile);
+        return saveDocument(document, operationSuffix, originalFilename, false);
+    }
+
+    /**
+     * Helper method to save document, optionally as an incremental update.
+     * <p>
+     * An incremental save copies the original bytes and appends only the objects
+     * changed since loading, so the write cost is proportional to the edit. It is
+     * only offered for additive edits: the original content stays in the file, which
+     * is why redaction always rewrites the document. Unlike a full save, it does not
+     * embed font subsets, so callers run {@link FontRegistry.DocumentFonts#subset()} first.
+     */
+    private File saveDocument(PDDocument document, String operationSuffix, String originalFilename, 
+            boolean incremental) throws IOException {
+        File outputFile = createOutputFile(originalFilename, operationSuffix, ".pdf");
+        if (incremental) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+                document.saveIncremental(out);
+            }
+        } else {
+            document.save(outputFile);
+        }
         return outputFile;
     }
 
+    /**
+     * Helper method to name a new output file in the upload directory
+     */
+    private File createOutputFile(String originalFilename, String operationSuffix, String extension) throws IOException {
+        String baseName = getBaseFilename(originalFilename, operationSuffix);
+        return new File(getUploadDir(), 
+            baseName + "_" + UUID.randomUUID().toString().substring(0, 8) + extension);
+    }
+
     /**
      * Helper method to save document (legacy, without original filename)
      */
@@ -583,8 +1131,9 @@ public class PdfService {
         String baseName = filename.substring(0, lastDot);
         String extension = filename.substring(lastDot + 1).toLowerCase();
         
-        if (!extension.equals("pdf") && !extension.equals("md") && !extension.equals("docx")) {
-            throw new PdfProcessingException("Invalid filename: only .pdf, .md, or .docx extensions are allowed");
+        if (!extension.equals("pdf") && !extension.equals("md") && !extension.equals("docx")
+                && !extension.equals("zip")) {
+            throw new PdfProcessingException("Invalid filename: only .pdf, .md, .docx, or .zip extensions are allowed");
         }
         
         // Prevent obvious parent directory references while still allowing multiple dots in the base name
@@ -597,9 +1146,10 @@ public class PdfService {
     }
     
     /**
-     * Download file
+     * Resolve a previously generated file for download.
+     * Streaming callers should prefer this over {@link #downloadFile(String)}.
      */
-    public byte[] downloadFile(String filename) throws PdfProcessingException {
+    public Path resolveDownload(String filename) throws PdfProcessingException {
         try {
             // Validate filename to prevent path traversal attacks
             validateFilename(filename);
@@ -614,7 +1164,7 @@ public class PdfService {
                 throw new PdfProcessingException("Access denied: file is outside the allowed directory");
             }
             
-            return Files.readAllBytes(resolvedPath);
+            return resolvedPath;
         } catch (PdfProcessingException e) {
             throw e;
         } catch (java.nio.file.NoSuchFileException e) {
@@ -623,4 +1173,18 @@ public class PdfService {
             throw new PdfProcessingException("Failed to download file: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Download file
+     */
+    public byte[] downloadFile(String filename) throws PdfProcessingException {
+        Path resolvedPath = resolveDownload(filename);
+        try {
+            return Files.readAllBytes(resolvedPath);
+        } catch (java.nio.file.NoSuchFileException e) {
+            throw new PdfProcessingException("File not found: " + filename, e);
+        } catch (Exception e) {
+            throw new PdfProcessingException("Failed to download file: " + e.getMessage(), e);
+        }
+    }
 }
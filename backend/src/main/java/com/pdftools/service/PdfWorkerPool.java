@@ -0,0 +1,72 @@
+package com.pdftools.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Bounded fork-join pool for CPU-bound, page-level PDF work.
+ * <p>
+ * PDFBox documents are not thread-safe, so tasks submitted here must each work on
+ * their own {@code PDDocument} (typically a separate view opened from the same
+ * spooled file).
+ */
+@Component
+public class PdfWorkerPool {
+
+    private final ForkJoinPool pool;
+
+    public PdfWorkerPool() {
+        this(0);
+    }
+
+    @Autowired
+    public PdfWorkerPool(@Value("${pdf.workers.parallelism}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Run all tasks and return their results in submission order.
+     * The first failure is rethrown once every task has finished.
+     */
+    public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for page tasks");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
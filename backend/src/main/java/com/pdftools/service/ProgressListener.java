@@ -0,0 +1,16 @@
+package com.pdftools.service;
+
+/**
+ * Receives page progress from long-running {@link PdfService} operations.
+ * <p>
+ * Operations that work on several pages in parallel report from their worker
+ * threads, so implementations must be thread-safe; calls may also arrive slightly
+ * out of order. The first call reports zero processed pages and the total.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    ProgressListener NONE = (processed, total) -> { };
+
+    void onProgress(int processed, int total);
+}
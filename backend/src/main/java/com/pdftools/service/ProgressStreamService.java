@@ -0,0 +1,185 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.PdfOperationResult;
+import com.pdftools.dto.PdfProgress;
+import com.pdftools.exception.CapacityExceededException;
+import com.pdftools.exception.PdfProcessingException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an operation after the request returns and reports it as server-sent events.
+ * <p>
+ * The stream carries {@code progress} events ({@link PdfProgress}, at most a few per
+ * second) and ends with a single {@code result} event holding the
+ * {@link PdfOperationResult}; failures are reported as an unsuccessful result.
+ * A comment line is sent at a fixed interval so proxies and load balancers do not
+ * close the connection while the operation is loading or saving.
+ * <p>
+ * The operation holds an {@link OperationLimiter} permit until it has finished,
+ * not just until the stream closes, so clients that drop their streams cannot run
+ * more operations at once than the limiter allows.
+ */
+@Service
+public class ProgressStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressStreamService.class);
+
+    private static final long MIN_EVENT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    /**
+     * Work reported by a progress stream, run against the spooled uploads
+     */
+    @FunctionalInterface
+    public interface ProgressTask {
+        PdfOperationResult run(List<MultipartFile> files, ProgressListener progress) throws PdfProcessingException;
+    }
+
+    private final PdfDocumentLoader documentLoader;
+    private final OperationLimiter limiter;
+    private final long heartbeatSeconds;
+
+    private final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pdf-progress-", 0).factory());
+    private final ScheduledExecutorService heartbeats =
+        Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("pdf-progress-heartbeat").daemon().factory());
+
+    @Autowired
+    public ProgressStreamService(PdfDocumentLoader documentLoader, OperationLimiter limiter,
+            @Value("${pdf.progress.heartbeat-seconds}") long heartbeatSeconds) {
+        this.documentLoader = documentLoader;
+        this.limiter = limiter;
+        this.heartbeatSeconds = Math.max(1, heartbeatSeconds);
+    }
+
+    /**
+     * Take a permit of {@code kind}, spool the uploads, start the task and return the
+     * emitter its events are sent to. The permit is released when the task ends.
+     */
+    public SseEmitter stream(OperationLimiter.Kind kind, List<MultipartFile> files, ProgressTask task) 
+            throws CapacityExceededException, PdfProcessingException {
+        OperationLimiter.Permit permit = limiter.acquire(kind);
+        List<SpooledMultipartFile> spooled = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                spooled.add(new SpooledMultipartFile(documentLoader.spool(file), file));
+            }
+        } catch (IOException e) {
+            deleteAll(spooled);
+            permit.close();
+            throw new PdfProcessingException("Failed to read upload: " + e.getMessage(), e);
+        }
+
+        SseEmitter emitter = new SseEmitter();
+        EventStream events = new EventStream(emitter);
+        emitter.onCompletion(events::close);
+        emitter.onTimeout(events::close);
+        emitter.onError(error -> events.close());
+
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(
+            events::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        executor.execute(() -> {
+            try {
+                events.finish(task.run(new ArrayList<>(spooled), events::progress));
+            } catch (PdfProcessingException e) {
+                logger.error("PDF processing error: {}", e.getMessage(), e);
+                events.finish(new PdfOperationResult(false, e.getMessage(), null));
+            } catch (RuntimeException e) {
+                logger.error("Unexpected error: {}", e.getMessage(), e);
+                events.finish(new PdfOperationResult(false,
+                    "An unexpected error occurred while processing your request. Please try again.", null));
+            } finally {
+                heartbeat.cancel(false);
+                deleteAll(spooled);
+                permit.close();
+            }
+        });
+        return emitter;
+    }
+
+    private void deleteAll(List<SpooledMultipartFile> files) {
+        for (SpooledMultipartFile file : files) {
+            try {
+                file.delete();
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled upload {}: {}", file.getPath(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Serializes sends from worker threads, the heartbeat and the final result.
+     * Once the client has gone away further events are dropped; the operation
+     * itself still runs to completion.
+     */
+    private static final class EventStream {
+        private final SseEmitter emitter;
+        private int lastProcessed = -1;
+        private long lastSentNanos;
+        private volatile boolean closed;
+
+        EventStream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void progress(int processed, int total) {
+            long now = System.nanoTime();
+            // Parallel workers may report out of order; only send forward progress, throttled
+            if (processed <= lastProcessed
+                    || (processed > 0 && processed < total && now - lastSentNanos < MIN_EVENT_INTERVAL_NANOS)) {
+                return;
+            }
+            lastProcessed = processed;
+            lastSentNanos = now;
+            send(SseEmitter.event().name("progress").data(new PdfProgress(processed, total)));
+        }
+
+        synchronized void heartbeat() {
+            send(SseEmitter.event().comment("keep-alive"));
+        }
+
+        synchronized void finish(PdfOperationResult result) {
+            send(SseEmitter.event().name("result").data(result));
+            if (!closed) {
+                closed = true;
+                emitter.complete();
+            }
+        }
+
+        void close() {
+            closed = true;
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+            }
+        }
+    }
+}
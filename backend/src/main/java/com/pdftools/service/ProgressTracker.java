@@ -0,0 +1,23 @@
+package com.pdftools.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts processed pages for one operation and forwards the running total to its listener
+ */
+final class ProgressTracker {
+
+    private final ProgressListener listener;
+    private final int total;
+    private final AtomicInteger processed = new AtomicInteger();
+
+    ProgressTracker(ProgressListener listener, int total) {
+        this.listener = listener;
+        this.total = total;
+        listener.onProgress(0, total);
+    }
+
+    void advance(int pages) {
+        listener.onProgress(processed.addAndGet(pages), total);
+    }
+}
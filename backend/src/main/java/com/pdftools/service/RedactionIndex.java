@@ -0,0 +1,186 @@
+package com.pdftools.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pdftools.dto.RedactionArea;
+import com.pdftools.exception.PdfProcessingException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Validated redaction areas, grouped by page.
+ * <p>
+ * Areas are held as {@code minX, minY, maxX, maxY} quadruples in a single float array
+ * sorted by page, so the areas of a page are one contiguous range and testing content
+ * against them needs no per-area objects. Requests are read with {@link #parse}, which
+ * streams the JSON array one element at a time; every area is checked as it is added.
+ */
+public final class RedactionIndex {
+
+    private static final int STRIDE = 4;
+
+    private static final ObjectReader AREA_READER = new ObjectMapper()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .enable(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+        .enable(DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES)
+        .disable(DeserializationFeature.ACCEPT_FLOAT_AS_INT)
+        .readerFor(RedactionArea.class);
+
+    private final int[] pages;
+    private final int[] offsets;
+    private final float[] coords;
+
+    private RedactionIndex(int[] pages, int[] offsets, float[] coords) {
+        this.pages = pages;
+        this.offsets = offsets;
+        this.coords = coords;
+    }
+
+    /**
+     * Read a JSON array of {@code {x, y, width, height, pageNum}}; all five fields are
+     * required and other fields are ignored
+     */
+    public static RedactionIndex parse(String json) throws PdfProcessingException {
+        if (json == null || json.isBlank()) {
+            throw new PdfProcessingException("Invalid redactions: a JSON array is required");
+        }
+        Builder builder = new Builder();
+        try (JsonParser parser = AREA_READER.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new PdfProcessingException("Invalid redactions: a JSON array is required");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                RedactionArea area;
+                try {
+                    area = AREA_READER.readValue(parser);
+                } catch (JsonProcessingException e) {
+                    throw new PdfProcessingException(
+                        "Invalid redaction at index " + builder.size + ": " + e.getOriginalMessage(), e);
+                }
+                builder.add(area);
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new PdfProcessingException(
+                    "Invalid redaction at index " + builder.size + ": expected an object");
+            }
+        } catch (JsonProcessingException e) {
+            throw new PdfProcessingException("Invalid redactions: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new PdfProcessingException("Invalid redactions: " + e.getMessage(), e);
+        }
+        return builder.build();
+    }
+
+    public static RedactionIndex of(List<RedactionArea> areas) throws PdfProcessingException {
+        Builder builder = new Builder();
+        for (RedactionArea area : areas) {
+            if (area == null) {
+                throw new PdfProcessingException(
+                    "Invalid redaction at index " + builder.size + ": expected an object");
+            }
+            builder.add(area);
+        }
+        return builder.build();
+    }
+
+    public static RedactionIndex of(int pageNum, float x, float y, float width, float height)
+            throws PdfProcessingException {
+        return new Builder().add(pageNum, x, y, width, height).build();
+    }
+
+    /**
+     * Pages with areas that exist in a document of {@code pageCount} pages, in ascending order
+     */
+    public List<Integer> pages(int pageCount) {
+        List<Integer> result = new ArrayList<>();
+        for (int page : pages) {
+            if (page > pageCount) {
+                break;
+            }
+            result.add(page);
+        }
+        return result;
+    }
+
+    /**
+     * Areas of {@code pageNum} as {@code minX, minY, maxX, maxY} quadruples
+     */
+    public float[] areas(int pageNum) {
+        int index = Arrays.binarySearch(pages, pageNum);
+        return index < 0 ? new float[0] : Arrays.copyOfRange(coords, offsets[index], offsets[index + 1]);
+    }
+
+    public int size() {
+        return coords.length / STRIDE;
+    }
+
+    /**
+     * Collects areas in request order; {@link #build} sorts them by page
+     */
+    public static final class Builder {
+        private int[] pageNums = new int[16];
+        private float[] coords = new float[16 * STRIDE];
+        private int size;
+
+        public Builder add(RedactionArea area) throws PdfProcessingException {
+            return add(area.getPageNum(), area.getX(), area.getY(), area.getWidth(), area.getHeight());
+        }
+
+        public Builder add(int pageNum, float x, float y, float width, float height)
+                throws PdfProcessingException {
+            if (pageNum < 1) {
+                throw new PdfProcessingException("Invalid redaction at index " + size + ": pageNum must be at least 1");
+            }
+            if (!Float.isFinite(x) || !Float.isFinite(y) || !Float.isFinite(x + width) || !Float.isFinite(y + height)) {
+                throw new PdfProcessingException("Invalid redaction at index " + size + ": coordinates must be finite");
+            }
+            if (width == 0 || height == 0) {
+                throw new PdfProcessingException(
+                    "Invalid redaction at index " + size + ": width and height must not be zero");
+            }
+            if (size == pageNums.length) {
+                pageNums = Arrays.copyOf(pageNums, size * 2);
+                coords = Arrays.copyOf(coords, size * 2 * STRIDE);
+            }
+            int offset = size * STRIDE;
+            coords[offset] = Math.min(x, x + width);
+            coords[offset + 1] = Math.min(y, y + height);
+            coords[offset + 2] = Math.max(x, x + width);
+            coords[offset + 3] = Math.max(y, y + height);
+            pageNums[size++] = pageNum;
+            return this;
+        }
+
+        public RedactionIndex build() {
+            // Sort by page, then request order, as (page, index) pairs packed into longs
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = ((long) pageNums[i] << 32) | i;
+            }
+            Arrays.sort(order);
+
+            int[] pages = new int[size];
+            int[] offsets = new int[size + 1];
+            float[] sorted = new float[size * STRIDE];
+            int distinct = 0;
+            for (int k = 0; k < size; k++) {
+                int page = (int) (order[k] >>> 32);
+                int index = (int) order[k];
+                if (distinct == 0 || pages[distinct - 1] != page) {
+                    pages[distinct] = page;
+                    offsets[distinct++] = k * STRIDE;
+                }
+                System.arraycopy(coords, index * STRIDE, sorted, k * STRIDE, STRIDE);
+            }
+            offsets[distinct] = size * STRIDE;
+            return new RedactionIndex(Arrays.copyOf(pages, distinct), Arrays.copyOf(offsets, distinct + 1), sorted);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.pdftools.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which output file an operation produced for a given input, so an
+ * identical request can return the existing file from the upload directory
+ * instead of re-processing the document.
+ * <p>
+ * Keys are a SHA-256 over the upload's bytes, the operation name and its
+ * parameters. Entries are evicted least-recently-used once the entry count or
+ * the total size of the referenced outputs exceeds its limit, and expire after
+ * a fixed time to live. Evicting an entry only forgets it; the output file itself
+ * is left in place. An entry can carry an attachment with details of the result
+ * that would otherwise need the input to be read again.
+ */
+@Component
+public class ResultCache {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Cached output and the attachment stored with it, which may be null
+     */
+    public record Hit(String outputFilename, Object attachment) {
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Duration ttl;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ResultCache() {
+        this(true, 1000, 1024L * 1024 * 1024, 60);
+    }
+
+    @Autowired
+    public ResultCache(
+            @Value("${pdf.cache.enabled}") boolean enabled,
+            @Value("${pdf.cache.max-entries}") int maxEntries,
+            @Value("${pdf.cache.max-bytes}") long maxBytes,
+            @Value("${pdf.cache.ttl-minutes}") long ttlMinutes) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    /**
+     * Build the cache key for running {@code operation} with {@code params} on {@code file}.
+     * Returns null when caching is disabled or the upload cannot be read, which
+     * turns the subsequent lookup and store into no-ops.
+     */
+    public String key(MultipartFile file, String operation, Object... params) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            return digest(file, operation, params);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * SHA-256 over the upload's bytes, {@code operation} and {@code params}, as hex
+     */
+    public static String digest(MultipartFile file, String operation, Object... params) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            digest.update((byte) 0);
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            for (Object param : params) {
+                digest.update((byte) 0);
+                digest.update(String.valueOf(param).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Filename of the cached output for {@code key}, or null on a miss
+     */
+    public String lookup(String key) {
+        Hit hit = find(key);
+        return hit == null ? null : hit.outputFilename();
+    }
+
+    /**
+     * Cached output and attachment for {@code key}, or null on a miss
+     */
+    public synchronized Hit find(String key) {
+        if (key == null) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && (isExpired(entry, Instant.now()) || !entry.file.isFile())) {
+            remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return new Hit(entry.file.getName(), entry.attachment);
+    }
+
+    /**
+     * Remember {@code output} as the result for {@code key}
+     */
+    public void put(String key, File output) {
+        put(key, output, null);
+    }
+
+    /**
+     * Remember {@code output} as the result for {@code key}, together with {@code attachment}
+     */
+    public synchronized void put(String key, File output, Object attachment) {
+        if (key == null) {
+            return;
+        }
+        remove(key);
+        Entry entry = new Entry(output, output.length(), Instant.now(), attachment);
+        entries.put(key, entry);
+        totalBytes += entry.size;
+        evict();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        Instant now = Instant.now();
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry eldest = it.next().getValue();
+            boolean overLimit = entries.size() > maxEntries || totalBytes > maxBytes;
+            if (!overLimit && !isExpired(eldest, now)) {
+                continue;
+            }
+            it.remove();
+            totalBytes -= eldest.size;
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size;
+        }
+    }
+
+    private boolean isExpired(Entry entry, Instant now) {
+        return entry.createdAt.plus(ttl).isBefore(now);
+    }
+
+    private record Entry(File file, long size, Instant createdAt, Object attachment) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.pdftools.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link MultipartFile} backed by a spooled copy of an upload.
+ * <p>
+ * Container multipart files are deleted when the request completes, so work that
+ * outlives the request (background jobs, streamed responses) spools the upload
+ * first and hands this wrapper to {@link PdfService}. Like a container upload,
+ * {@link #transferTo(File)} moves the file rather than copying it.
+ */
+public class SpooledMultipartFile implements MultipartFile {
+
+    private final Path path;
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+
+    public SpooledMultipartFile(Path path, MultipartFile source) {
+        this.path = path;
+        this.name = source.getName();
+        this.originalFilename = source.getOriginalFilename();
+        this.contentType = source.getContentType();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.move(path, dest, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Delete the spooled copy if it has not been moved away
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,333 @@
+package com.pdftools.service;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Text stripper that groups the lines of each page into structural blocks.
+ * <p>
+ * Lines are classified using the layout information PDFBox provides per glyph:
+ * lines set noticeably larger than the page's body text (or short, fully bold
+ * lines) become headings, lines starting with a bullet or an enumerator become
+ * list items, runs of lines split into the same number of widely spaced cells
+ * become tables, and the remaining lines are joined into paragraphs. Blocks are
+ * handed to a {@link BlockSink} at the end of every page, so only one page of
+ * text is held at a time. Call {@link #writeText} with a null writer; the
+ * stripper's own text output is not used.
+ */
+class StructuredTextStripper extends PDFTextStripper {
+
+    private static final Pattern BULLET = Pattern.compile("^[•◦▪▫‣⁃∙·*\\-–]\\s+(.+)$");
+    private static final Pattern ENUMERATOR = Pattern.compile("^(\\d{1,3}|[a-zA-Z])([.)])\\s+(.+)$");
+
+    /** Gap between words, in multiples of the font size, that starts a new table cell */
+    private static final float CELL_GAP = 1.2f;
+    /** Vertical distance between baselines, in multiples of the font size, that starts a new paragraph */
+    private static final float PARAGRAPH_GAP = 1.6f;
+    private static final int MAX_HEADING_LENGTH = 120;
+    private static final int MAX_AVERAGE_CELL_LENGTH = 30;
+
+    enum BlockType {
+        HEADING, PARAGRAPH, LIST_ITEM, TABLE
+    }
+
+    /**
+     * Structural unit of a page.
+     * {@code level} is the heading level (1-4), {@code marker} the list marker
+     * ("-" or an enumerator such as "2."), and {@code rows} the cells of a table.
+     */
+    record Block(BlockType type, int level, String marker, String text, List<List<String>> rows) {
+
+        static Block heading(int level, String text) {
+            return new Block(BlockType.HEADING, level, null, text, List.of());
+        }
+
+        static Block paragraph(String text) {
+            return new Block(BlockType.PARAGRAPH, 0, null, text, List.of());
+        }
+
+        static Block listItem(String marker, String text) {
+            return new Block(BlockType.LIST_ITEM, 0, marker, text, List.of());
+        }
+
+        static Block table(List<List<String>> rows) {
+            return new Block(BlockType.TABLE, 0, null, null, rows);
+        }
+    }
+
+    /**
+     * Receives the blocks of each page, in page order
+     */
+    @FunctionalInterface
+    interface BlockSink {
+        void page(List<Block> blocks) throws IOException;
+    }
+
+    private final BlockSink sink;
+    private final ProgressTracker tracker;
+    private final List<Line> lines = new ArrayList<>();
+    private final Map<PDFont, Boolean> boldFonts = new HashMap<>();
+    private Line current;
+
+    StructuredTextStripper(BlockSink sink, ProgressTracker tracker) {
+        this.sink = sink;
+        this.tracker = tracker;
+        setSortByPosition(true);
+    }
+
+    @Override
+    protected void startPage(PDPage page) throws IOException {
+        super.startPage(page);
+        lines.clear();
+        current = null;
+    }
+
+    @Override
+    protected void writeString(String text, List<TextPosition> textPositions) {
+        if (current == null) {
+            current = new Line();
+        }
+        current.addWord(text, textPositions);
+    }
+
+    @Override
+    protected void writeLineSeparator() {
+        finishLine();
+    }
+
+    @Override
+    protected void writeParagraphEnd() {
+        finishLine();
+    }
+
+    @Override
+    protected void endArticle() throws IOException {
+        finishLine();
+        super.endArticle();
+    }
+
+    @Override
+    protected void endPage(PDPage page) throws IOException {
+        finishLine();
+        sink.page(buildBlocks());
+        lines.clear();
+        super.endPage(page);
+        tracker.advance(1);
+    }
+
+    private void finishLine() {
+        if (current != null && !current.isBlank()) {
+            lines.add(current);
+        }
+        current = null;
+    }
+
+    private List<Block> buildBlocks() {
+        List<Block> blocks = new ArrayList<>();
+        float bodySize = bodyFontSize();
+        StringBuilder paragraph = new StringBuilder();
+        Line previous = null;
+
+        int i = 0;
+        while (i < lines.size()) {
+            Line line = lines.get(i);
+            int tableRows = tableRun(i);
+            if (tableRows >= 2) {
+                flushParagraph(paragraph, blocks);
+                List<List<String>> rows = new ArrayList<>();
+                for (Line row : lines.subList(i, i + tableRows)) {
+                    rows.add(row.cellTexts());
+                }
+                blocks.add(Block.table(rows));
+                i += tableRows;
+                previous = null;
+                continue;
+            }
+
+            String text = line.text();
+            int level = headingLevel(line, text, bodySize);
+            Matcher bullet = BULLET.matcher(text);
+            Matcher enumerator = ENUMERATOR.matcher(text);
+            if (level > 0) {
+                flushParagraph(paragraph, blocks);
+                blocks.add(Block.heading(level, text));
+            } else if (bullet.matches()) {
+                flushParagraph(paragraph, blocks);
+                blocks.add(Block.listItem("-", bullet.group(1)));
+            } else if (enumerator.matches()) {
+                flushParagraph(paragraph, blocks);
+                blocks.add(Block.listItem(enumerator.group(1) + enumerator.group(2), enumerator.group(3)));
+            } else {
+                if (previous != null && startsParagraph(previous, line)) {
+                    flushParagraph(paragraph, blocks);
+                }
+                appendLine(paragraph, text);
+            }
+            previous = level > 0 ? null : line;
+            i++;
+        }
+        flushParagraph(paragraph, blocks);
+        return blocks;
+    }
+
+    /**
+     * Most common font size on the page, weighted by character count
+     */
+    private float bodyFontSize() {
+        Map<Float, Integer> counts = new HashMap<>();
+        for (Line line : lines) {
+            counts.merge(Math.round(line.fontSize * 2) / 2f, line.chars, Integer::sum);
+        }
+        return counts.entrySet().stream()
+            .max(Map.Entry.comparingByValue())
+            .map(Map.Entry::getKey)
+            .orElse(0f);
+    }
+
+    private int headingLevel(Line line, String text, float bodySize) {
+        if (bodySize <= 0 || text.length() > MAX_HEADING_LENGTH || line.cells.size() > 1) {
+            return 0;
+        }
+        float ratio = line.fontSize / bodySize;
+        if (ratio >= 1.6f) {
+            return 1;
+        }
+        if (ratio >= 1.3f) {
+            return 2;
+        }
+        if (ratio >= 1.1f) {
+            return 3;
+        }
+        boolean boldLine = line.boldChars == line.chars && lines.size() > 1;
+        if (boldLine && ratio >= 0.95f && text.length() <= 80 && !text.endsWith(".")) {
+            return 4;
+        }
+        return 0;
+    }
+
+    /**
+     * Number of consecutive lines from {@code start} that look like rows of one table:
+     * the same number (two or more) of short, widely separated cells
+     */
+    private int tableRun(int start) {
+        int columns = lines.get(start).cells.size();
+        if (columns < 2) {
+            return 0;
+        }
+        int end = start;
+        int cellChars = 0;
+        while (end < lines.size() && lines.get(end).cells.size() == columns) {
+            cellChars += lines.get(end).chars;
+            end++;
+        }
+        int rows = end - start;
+        return cellChars / (rows * columns) <= MAX_AVERAGE_CELL_LENGTH ? rows : 0;
+    }
+
+    private boolean startsParagraph(Line previous, Line line) {
+        float size = Math.max(previous.fontSize, line.fontSize);
+        return line.baseline - previous.baseline > PARAGRAPH_GAP * size
+            || Math.abs(previous.fontSize - line.fontSize) > 0.5f;
+    }
+
+    private static void appendLine(StringBuilder paragraph, String text) {
+        int length = paragraph.length();
+        if (length == 0) {
+            paragraph.append(text);
+        } else if (paragraph.charAt(length - 1) == '-' && Character.isLowerCase(text.charAt(0))) {
+            // Re-join a word hyphenated at the end of the line
+            paragraph.setLength(length - 1);
+            paragraph.append(text);
+        } else {
+            paragraph.append(' ').append(text);
+        }
+    }
+
+    private static void flushParagraph(StringBuilder paragraph, List<Block> blocks) {
+        if (!paragraph.isEmpty()) {
+            blocks.add(Block.paragraph(paragraph.toString()));
+            paragraph.setLength(0);
+        }
+    }
+
+    private boolean isBold(PDFont font) {
+        if (font == null) {
+            return false;
+        }
+        return boldFonts.computeIfAbsent(font, f -> {
+            PDFontDescriptor descriptor = f.getFontDescriptor();
+            if (descriptor != null && (descriptor.isForceBold() || descriptor.getFontWeight() >= 700)) {
+                return true;
+            }
+            String name = f.getName();
+            return name != null && (name.contains("Bold") || name.contains("Black") || name.contains("Heavy"));
+        });
+    }
+
+    /**
+     * One line of text with the layout facts used for classification
+     */
+    private final class Line {
+        private final List<StringBuilder> cells = new ArrayList<>();
+        private float fontSize;
+        private float baseline;
+        private float lastEnd = Float.NaN;
+        private int chars;
+        private int boldChars;
+
+        void addWord(String word, List<TextPosition> positions) {
+            TextPosition first = null;
+            TextPosition last = null;
+            for (TextPosition position : positions) {
+                String unicode = position.getUnicode();
+                if (unicode == null || unicode.isBlank()) {
+                    continue;
+                }
+                if (first == null) {
+                    first = position;
+                }
+                last = position;
+                chars++;
+                fontSize = Math.max(fontSize, position.getFontSizeInPt());
+                if (isBold(position.getFont())) {
+                    boldChars++;
+                }
+            }
+            if (first == null) {
+                return;
+            }
+
+            float gap = first.getXDirAdj() - lastEnd;
+            if (cells.isEmpty() || gap > CELL_GAP * first.getFontSizeInPt()) {
+                cells.add(new StringBuilder(word.strip()));
+            } else {
+                cells.get(cells.size() - 1).append(' ').append(word.strip());
+            }
+            lastEnd = last.getXDirAdj() + last.getWidthDirAdj();
+            baseline = last.getYDirAdj();
+        }
+
+        boolean isBlank() {
+            return chars == 0;
+        }
+
+        String text() {
+            return String.join(" ", cells);
+        }
+
+        List<String> cellTexts() {
+            return cells.stream().map(StringBuilder::toString).toList();
+        }
+    }
+}
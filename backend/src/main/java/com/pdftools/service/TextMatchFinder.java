@@ -0,0 +1,247 @@
+package com.pdftools.service;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Text stripper that finds regular expression matches on each page and reports the
+ * areas covering them, in default user space.
+ * <p>
+ * The text of a page is assembled with the glyph behind every character, so the glyphs
+ * of a match can be located after matching. Words are separated by a space and lines by
+ * a newline. The glyphs of a match are merged into one area per line; areas span from
+ * half the font's descent to its ascent, so they do not reach into the glyphs of
+ * neighbouring lines. Call {@link #writeText} with a null writer; the stripper's own
+ * text output is not used.
+ * <p>
+ * Patterns come from clients and may backtrack catastrophically, so the text is matched
+ * through a {@link CharSequence} that aborts once the page's time limit has passed or
+ * the thread is interrupted.
+ */
+class TextMatchFinder extends PDFTextStripper {
+
+    private static final double EDGE_INSET = 0.01;
+
+    /**
+     * Receives the areas ({@code minX, minY, maxX, maxY} quadruples) and number of matches
+     * of every page with at least one match
+     */
+    @FunctionalInterface
+    interface MatchSink {
+        void page(int pageNum, float[] areas, int matches) throws IOException;
+    }
+
+    private final List<Pattern> patterns;
+    private final long matchTimeoutNanos;
+    private final MatchSink sink;
+    private final StringBuilder text = new StringBuilder();
+    private final List<TextPosition> glyphs = new ArrayList<>();
+    private float[] areas = new float[64];
+    private int areaCoords;
+
+    TextMatchFinder(List<Pattern> patterns, long matchTimeoutMillis, MatchSink sink) {
+        this.patterns = patterns;
+        this.matchTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(matchTimeoutMillis);
+        this.sink = sink;
+        setSortByPosition(true);
+    }
+
+    @Override
+    protected void startPage(PDPage page) throws IOException {
+        super.startPage(page);
+        text.setLength(0);
+        glyphs.clear();
+    }
+
+    @Override
+    protected void writeString(String string, List<TextPosition> textPositions) {
+        for (TextPosition position : textPositions) {
+            String unicode = position.getUnicode();
+            for (int i = 0; i < unicode.length(); i++) {
+                text.append(unicode.charAt(i));
+                glyphs.add(position);
+            }
+        }
+    }
+
+    @Override
+    protected void writeWordSeparator() {
+        append(' ');
+    }
+
+    @Override
+    protected void writeLineSeparator() {
+        append('\n');
+    }
+
+    @Override
+    protected void endPage(PDPage page) throws IOException {
+        areaCoords = 0;
+        int matches = 0;
+        CharSequence input = new DeadlineCharSequence(text, System.nanoTime() + matchTimeoutNanos);
+        for (Pattern pattern : patterns) {
+            Matcher matcher = pattern.matcher(input);
+            try {
+                while (matcher.find()) {
+                    if (matcher.end() > matcher.start()) {
+                        matches++;
+                        addAreas(matcher.start(), matcher.end(), page);
+                    }
+                }
+            } catch (MatchAbortedException e) {
+                if (e.interrupted) {
+                    throw new InterruptedIOException("Interrupted while matching page " + getCurrentPageNo());
+                }
+                throw new IOException("Pattern took too long to match on page " + getCurrentPageNo()
+                    + ": " + pattern.pattern());
+            }
+        }
+        if (matches > 0) {
+            sink.page(getCurrentPageNo(), Arrays.copyOf(areas, areaCoords), matches);
+        }
+        super.endPage(page);
+    }
+
+    private void append(char separator) {
+        if (!text.isEmpty() && text.charAt(text.length() - 1) != separator) {
+            text.append(separator);
+            glyphs.add(null);
+        }
+    }
+
+    private void addAreas(int start, int end, PDPage page) {
+        // Text positions are relative to the crop box; redaction areas are in user space
+        PDRectangle cropBox = page.getCropBox();
+        Rectangle2D line = null;
+        TextPosition previous = null;
+        for (int i = start; i < end; i++) {
+            TextPosition glyph = glyphs.get(i);
+            if (glyph == null || glyph == previous) {
+                continue;
+            }
+            previous = glyph;
+            Rectangle2D box = glyphBox(glyph);
+            box.setRect(box.getX() + cropBox.getLowerLeftX(), box.getY() + cropBox.getLowerLeftY(),
+                box.getWidth(), box.getHeight());
+            if (line != null && sameLine(line, box)) {
+                line.add(box);
+            } else {
+                if (line != null) {
+                    addArea(line);
+                }
+                line = box;
+            }
+        }
+        if (line != null) {
+            addArea(line);
+        }
+    }
+
+    private static Rectangle2D glyphBox(TextPosition glyph) {
+        PDFont font = glyph.getFont();
+        float width = 0;
+        for (int code : glyph.getCharacterCodes()) {
+            try {
+                width += font.isVertical() ? font.getDisplacement(code).getY() : font.getDisplacement(code).getX();
+            } catch (IOException e) {
+                width += glyph.getWidth() / Math.max(1, glyph.getFontSizeInPt());
+            }
+        }
+        float[] extent = PageRedactor.verticalExtent(font);
+        AffineTransform transform = glyph.getTextMatrix().createAffineTransform();
+        return font.isVertical()
+            ? PageRedactor.transform(transform, -0.5f, Math.min(width, 0), 0.5f, Math.max(width, 0))
+            : PageRedactor.transform(transform, 0, extent[0] / 2, width, extent[1]);
+    }
+
+    private static boolean sameLine(Rectangle2D line, Rectangle2D box) {
+        double overlap = Math.min(line.getMaxY(), box.getMaxY()) - Math.max(line.getMinY(), box.getMinY());
+        return overlap > 0.5 * Math.min(line.getHeight(), box.getHeight());
+    }
+
+    /**
+     * Thrown out of the matcher when matching has to stop
+     */
+    private static final class MatchAbortedException extends RuntimeException {
+        private final boolean interrupted;
+
+        MatchAbortedException(boolean interrupted) {
+            super(null, null, false, false);
+            this.interrupted = interrupted;
+        }
+    }
+
+    /**
+     * Text that checks the deadline and the thread's interrupt flag every few hundred
+     * character reads; regular expression matching only ever reads through {@link #charAt}
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+        private static final int CHECK_INTERVAL = 256;
+
+        private final CharSequence text;
+        private final long deadline;
+        private int reads;
+
+        DeadlineCharSequence(CharSequence text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads == CHECK_INTERVAL) {
+                reads = 0;
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new MatchAbortedException(true);
+                }
+                if (System.nanoTime() - deadline > 0) {
+                    throw new MatchAbortedException(false);
+                }
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    /**
+     * Pull the sides in slightly so rounding does not make the area touch the adjacent glyphs
+     */
+    private void addArea(Rectangle2D box) {
+        if (areaCoords == areas.length) {
+            areas = Arrays.copyOf(areas, areas.length * 2);
+        }
+        double inset = Math.min(EDGE_INSET, box.getWidth() / 4);
+        areas[areaCoords++] = (float) (box.getMinX() + inset);
+        areas[areaCoords++] = (float) box.getMinY();
+        areas[areaCoords++] = (float) (box.getMaxX() - inset);
+        areas[areaCoords++] = (float) box.getMaxY();
+    }
+}
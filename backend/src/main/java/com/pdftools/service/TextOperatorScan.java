@@ -0,0 +1,159 @@
+package com.pdftools.service;
+
+import org.apache.pdfbox.contentstream.PDContentStream;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.OperatorName;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the pages of a document that show no text, without extracting any.
+ * <p>
+ * Text can only be shown with a font from the resources, so content whose resources
+ * have no fonts (and no forms that might) is not read at all. Otherwise the content
+ * stream is tokenized up to the first text-showing operator with a non-empty string,
+ * descending into the forms it paints. Image data is never decoded. Content that cannot
+ * be parsed counts as text, so the caller falls back to a full extraction.
+ */
+final class TextOperatorScan {
+
+    private static final int MAX_FORM_DEPTH = 16;
+
+    /**
+     * Forms with their own resources, by stream; a form is marked as textless while it
+     * is scanned so self-referencing forms terminate
+     */
+    private final Map<COSStream, Boolean> forms = new IdentityHashMap<>();
+
+    private TextOperatorScan() {
+    }
+
+    /**
+     * Page numbers (1-based) of the pages of {@code document} that show no text
+     */
+    static List<Integer> imageOnlyPages(PDDocument document) {
+        TextOperatorScan scan = new TextOperatorScan();
+        List<Integer> imageOnly = new ArrayList<>();
+        int pageNum = 0;
+        for (PDPage page : document.getPages()) {
+            pageNum++;
+            PDResources resources = page.getResources();
+            if (!scan.showsText(page, resources == null ? null : resources.getCOSObject(), 0)) {
+                imageOnly.add(pageNum);
+            }
+        }
+        return imageOnly;
+    }
+
+    private boolean showsText(PDContentStream content, COSDictionary resources, int depth) {
+        if (resources == null || !mayShowText(resources)) {
+            return false;
+        }
+        try {
+            COSDictionary xObjects = resources.getCOSDictionary(COSName.XOBJECT);
+            PDFStreamParser parser = new PDFStreamParser(content);
+            List<COSBase> operands = new ArrayList<>();
+            for (Object token = parser.parseNextToken(); token != null; token = parser.parseNextToken()) {
+                if (!(token instanceof Operator operator)) {
+                    if (token instanceof COSBase operand) {
+                        operands.add(operand);
+                    }
+                    continue;
+                }
+                switch (operator.getName()) {
+                    case OperatorName.SHOW_TEXT, OperatorName.SHOW_TEXT_LINE,
+                            OperatorName.SHOW_TEXT_LINE_AND_SPACE -> {
+                        if (!operands.isEmpty() && operands.get(operands.size() - 1) instanceof COSString text
+                                && text.getBytes().length > 0) {
+                            return true;
+                        }
+                    }
+                    case OperatorName.SHOW_TEXT_ADJUSTED -> {
+                        if (!operands.isEmpty() && operands.get(0) instanceof COSArray array) {
+                            for (COSBase element : array) {
+                                if (element instanceof COSString text && text.getBytes().length > 0) {
+                                    return true;
+                                }
+                            }
+                        }
+                    }
+                    case OperatorName.DRAW_OBJECT -> {
+                        if (xObjects != null && depth < MAX_FORM_DEPTH && !operands.isEmpty()
+                                && operands.get(0) instanceof COSName name
+                                && xObjects.getDictionaryObject(name) instanceof COSStream xObject
+                                && COSName.FORM.equals(xObject.getCOSName(COSName.SUBTYPE))
+                                && formShowsText(xObject, resources, depth + 1)) {
+                            return true;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+                operands.clear();
+            }
+            return false;
+        } catch (IOException | RuntimeException e) {
+            return true;
+        }
+    }
+
+    private boolean formShowsText(COSStream stream, COSDictionary parentResources, int depth) {
+        COSDictionary own = stream.getCOSDictionary(COSName.RESOURCES);
+        if (own == null) {
+            // Forms without resources use those of the content painting them
+            return showsText(new PDFormXObject(stream), parentResources, depth);
+        }
+        Boolean known = forms.get(stream);
+        if (known != null) {
+            return known;
+        }
+        forms.put(stream, false);
+        boolean showsText = showsText(new PDFormXObject(stream), own, depth);
+        forms.put(stream, showsText);
+        return showsText;
+    }
+
+    /**
+     * Whether the resources hold a font, a graphics state that sets one, or a form
+     */
+    private static boolean mayShowText(COSDictionary resources) {
+        COSDictionary fonts = resources.getCOSDictionary(COSName.FONT);
+        if (fonts != null && fonts.size() > 0) {
+            return true;
+        }
+        COSDictionary states = resources.getCOSDictionary(COSName.EXT_G_STATE);
+        if (states != null) {
+            for (COSName name : states.keySet()) {
+                if (states.getDictionaryObject(name) instanceof COSDictionary state
+                        && state.containsKey(COSName.FONT)) {
+                    return true;
+                }
+            }
+        }
+        COSDictionary xObjects = resources.getCOSDictionary(COSName.XOBJECT);
+        if (xObjects != null) {
+            for (COSName name : xObjects.keySet()) {
+                if (xObjects.getDictionaryObject(name) instanceof COSStream xObject
+                        && COSName.FORM.equals(xObject.getCOSName(COSName.SUBTYPE))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
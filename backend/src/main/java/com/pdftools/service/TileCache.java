@@ -0,0 +1,208 @@
+package com.pdftools.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Rendered page images, kept in memory and on disk.
+ * <p>
+ * Both tiers are bounded by total bytes and evict least-recently-used tiles. A tile
+ * evicted from memory stays on disk and moves back into memory on its next read; a
+ * tile evicted from disk is deleted. Tiles already on disk are picked up again at
+ * startup, oldest first in line for eviction. Keys are used as file names, so callers
+ * must only pass keys made of safe characters.
+ */
+@Component
+public class TileCache {
+
+    private static final String SUFFIX = ".png";
+
+    private final Path dir;
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Memory-only cache
+     */
+    public TileCache() {
+        this(null, 64L * 1024 * 1024, 0);
+    }
+
+    @Autowired
+    public TileCache(
+            @Value("${pdf.render.cache-dir}") String dir,
+            @Value("${pdf.render.memory-bytes}") long maxMemoryBytes,
+            @Value("${pdf.render.disk-bytes}") long maxDiskBytes) {
+        this.dir = dir == null || dir.isBlank() || maxDiskBytes <= 0 ? null : Paths.get(dir);
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxDiskBytes = maxDiskBytes;
+        if (this.dir != null) {
+            loadIndex();
+        }
+    }
+
+    /**
+     * Tile stored under {@code key}, or null on a miss
+     */
+    public byte[] get(String key) {
+        Long size;
+        synchronized (this) {
+            byte[] tile = memory.get(key);
+            if (tile != null) {
+                hits.incrementAndGet();
+                return tile;
+            }
+            size = disk.get(key);
+        }
+        if (size != null) {
+            try {
+                byte[] tile = Files.readAllBytes(file(key));
+                synchronized (this) {
+                    putInMemory(key, tile);
+                }
+                hits.incrementAndGet();
+                return tile;
+            } catch (IOException e) {
+                // Evicted meanwhile, or unreadable: treat as a miss
+                synchronized (this) {
+                    removeFromDisk(key);
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, byte[] tile) {
+        synchronized (this) {
+            putInMemory(key, tile);
+        }
+        if (dir == null || tile.length > maxDiskBytes) {
+            return;
+        }
+        try {
+            // Write aside and move into place, so readers never see a partial tile
+            Path temp = Files.createTempFile(dir, "tile-", ".tmp");
+            Files.write(temp, tile);
+            Files.move(temp, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The disk tier is best-effort; the tile is still cached in memory
+            return;
+        }
+        synchronized (this) {
+            Long previous = disk.put(key, (long) tile.length);
+            diskBytes += tile.length - (previous == null ? 0 : previous);
+            evictFromDisk();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public synchronized long getDiskBytes() {
+        return diskBytes;
+    }
+
+    private void putInMemory(String key, byte[] tile) {
+        byte[] previous = memory.put(key, tile);
+        memoryBytes += tile.length - (previous == null ? 0 : previous.length);
+        Iterator<byte[]> it = memory.values().iterator();
+        while (memoryBytes > maxMemoryBytes && it.hasNext()) {
+            memoryBytes -= it.next().length;
+            it.remove();
+        }
+    }
+
+    private void evictFromDisk() {
+        Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+        while (diskBytes > maxDiskBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            diskBytes -= eldest.getValue();
+            delete(eldest.getKey());
+        }
+    }
+
+    private void removeFromDisk(String key) {
+        Long removed = disk.remove(key);
+        if (removed != null) {
+            diskBytes -= removed;
+        }
+    }
+
+    private void delete(String key) {
+        try {
+            Files.deleteIfExists(file(key));
+        } catch (IOException ignored) {
+            // Left for the next startup to pick up and evict
+        }
+    }
+
+    private Path file(String key) {
+        return dir.resolve(key + SUFFIX);
+    }
+
+    private void loadIndex() {
+        try {
+            Files.createDirectories(dir);
+            List<Path> tiles;
+            try (Stream<Path> files = Files.list(dir)) {
+                tiles = files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(TileCache::lastModified))
+                    .toList();
+            }
+            for (Path tile : tiles) {
+                String name = tile.getFileName().toString();
+                long size = Files.size(tile);
+                disk.put(name.substring(0, name.length() - SUFFIX.length()), size);
+                diskBytes += size;
+            }
+        } catch (NoSuchFileException ignored) {
+            // Removed while listing
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot use tile cache directory " + dir, e);
+        }
+        evictFromDisk();
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
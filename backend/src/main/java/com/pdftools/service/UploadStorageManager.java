@@ -0,0 +1,186 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.StorageUsage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the upload directory, where every operation writes its output, from
+ * growing without bound.
+ * <p>
+ * A background sweep deletes outputs that have not been written or downloaded
+ * within the time to live, then evicts the least recently used outputs until
+ * the directory fits in its byte quota. Requests never wait for the sweep; they
+ * only record downloads via {@link #touch(String)}.
+ * <p>
+ * The same sweep removes files in the loader's scratch directory that are older
+ * than the time to live: spooled uploads and PDFBox scratch files left behind
+ * when a process was killed or a spool failed. Those files are not counted in
+ * the quota.
+ */
+@Component
+public class UploadStorageManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadStorageManager.class);
+
+    private final Path uploadDir;
+    private final Path scratchDir;
+    private final Duration ttl;
+    private final long maxBytes;
+
+    private final Map<String, Long> lastAccess = new ConcurrentHashMap<>();
+    private final AtomicLong evictedFiles = new AtomicLong();
+    private volatile StorageUsage usage;
+
+    public UploadStorageManager(String uploadDir, long ttlMinutes, long maxBytes) {
+        this(uploadDir, null, ttlMinutes, maxBytes);
+    }
+
+    @Autowired
+    public UploadStorageManager(
+            @Value("${pdf.upload.dir}") String uploadDir,
+            @Value("${pdf.loader.scratch-dir}") String scratchDir,
+            @Value("${pdf.storage.ttl-minutes}") long ttlMinutes,
+            @Value("${pdf.storage.max-bytes}") long maxBytes) {
+        this.uploadDir = Paths.get(uploadDir);
+        this.scratchDir = scratchDir == null ? null : Paths.get(scratchDir);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxBytes = maxBytes;
+        this.usage = new StorageUsage(0, 0, maxBytes, 0, null);
+    }
+
+    /**
+     * Record that {@code filename} was just used, so the quota evicts it last
+     */
+    public void touch(String filename) {
+        lastAccess.put(filename, System.currentTimeMillis());
+    }
+
+    /**
+     * Usage as of the last sweep
+     */
+    public StorageUsage getUsage() {
+        return usage;
+    }
+
+    @Scheduled(fixedDelayString = "${pdf.storage.sweep-interval-ms}")
+    public void scheduledSweep() {
+        try {
+            sweep();
+        } catch (IOException e) {
+            logger.warn("Upload directory sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Delete expired outputs, then least recently used ones until under quota
+     * @return number of files deleted
+     */
+    public synchronized int sweep() throws IOException {
+        long expiresBefore = System.currentTimeMillis() - ttl.toMillis();
+        int deleted = sweepScratch(expiresBefore);
+        if (!Files.isDirectory(uploadDir)) {
+            usage = new StorageUsage(0, 0, maxBytes, evictedFiles.get(), Instant.now());
+            return deleted;
+        }
+
+        List<StoredFile> files = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(uploadDir)) {
+            for (Path entry : (Iterable<Path>) entries::iterator) {
+                File file = entry.toFile();
+                if (file.isDirectory()) {
+                    // Scratch directories left behind by interrupted operations
+                    if (file.lastModified() < expiresBefore && FileSystemUtils.deleteRecursively(file)) {
+                        deleted++;
+                    }
+                    continue;
+                }
+                String name = file.getName();
+                long lastUsed = Math.max(file.lastModified(), lastAccess.getOrDefault(name, 0L));
+                if (lastUsed < expiresBefore) {
+                    if (delete(file)) {
+                        deleted++;
+                    }
+                    continue;
+                }
+                files.add(new StoredFile(file, file.length(), lastUsed));
+            }
+        }
+
+        long usedBytes = files.stream().mapToLong(StoredFile::size).sum();
+        if (maxBytes >= 0 && usedBytes > maxBytes) {
+            files.sort(Comparator.comparingLong(StoredFile::lastUsed));
+            List<StoredFile> kept = new ArrayList<>();
+            for (StoredFile stored : files) {
+                if (usedBytes > maxBytes && delete(stored.file())) {
+                    usedBytes -= stored.size();
+                    deleted++;
+                } else {
+                    kept.add(stored);
+                }
+            }
+            files = kept;
+        }
+
+        usage = new StorageUsage(files.size(), usedBytes, maxBytes, evictedFiles.get(), Instant.now());
+        if (deleted > 0) {
+            logger.debug("Upload directory sweep removed {} entries, {} bytes in use", deleted, usedBytes);
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete scratch files not written since {@code expiresBefore}. Operations finish
+     * well within the time to live, so only abandoned files get this old.
+     */
+    private int sweepScratch(long expiresBefore) throws IOException {
+        if (scratchDir == null || !Files.isDirectory(scratchDir)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (Stream<Path> entries = Files.list(scratchDir)) {
+            for (Path entry : (Iterable<Path>) entries::iterator) {
+                File file = entry.toFile();
+                if (file.isFile() && file.lastModified() < expiresBefore && file.delete()) {
+                    deleted++;
+                }
+            }
+        }
+        if (deleted > 0) {
+            logger.debug("Scratch directory sweep removed {} stale files", deleted);
+        }
+        return deleted;
+    }
+
+    private boolean delete(File file) {
+        lastAccess.remove(file.getName());
+        if (file.delete() || !file.exists()) {
+            evictedFiles.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private record StoredFile(File file, long size, long lastUsed) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.pdftools.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FontRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    static void copyBundledFont(Path dir) throws Exception {
+        try (InputStream in = PDDocument.class.getResourceAsStream(
+                "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")) {
+            Files.copy(in, dir.resolve("LiberationSans-Regular.ttf"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should register fonts by file name and embed them per document")
+    void testRegisteredFont() throws Exception {
+        copyBundledFont(tempDir);
+        FontRegistry registry = new FontRegistry(tempDir.toString());
+
+        assertEquals(List.of("LiberationSans-Regular"), registry.getFontNames());
+        try (PDDocument first = new PDDocument(); PDDocument second = new PDDocument()) {
+            FontRegistry.DocumentFonts fonts = registry.forDocument(first);
+            PDFont font = fonts.getFont("liberationsans-regular", Standard14Fonts.FontName.HELVETICA);
+            assertInstanceOf(PDType0Font.class, font);
+            assertSame(font, fonts.getFont("LiberationSans-Regular", Standard14Fonts.FontName.HELVETICA));
+            assertNotSame(font, registry.forDocument(second)
+                .getFont("LiberationSans-Regular", Standard14Fonts.FontName.HELVETICA));
+        } finally {
+            registry.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to Standard 14 fonts")
+    void testStandardFonts() throws Exception {
+        FontRegistry registry = new FontRegistry();
+
+        try (PDDocument document = new PDDocument()) {
+            FontRegistry.DocumentFonts fonts = registry.forDocument(document);
+            PDFont courier = fonts.getFont("courier-bold", Standard14Fonts.FontName.HELVETICA);
+            PDFont unknown = fonts.getFont("NoSuchFont", Standard14Fonts.FontName.HELVETICA);
+
+            assertInstanceOf(PDType1Font.class, courier);
+            assertEquals("Courier-Bold", courier.getName());
+            assertEquals("Helvetica", unknown.getName());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.pdftools.service;
+
+import com.pdftools.exception.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OperationLimiter limiter = new OperationLimiter(registry, 1, 2, 2, 50);
+
+    @Test
+    @DisplayName("Should reject requests once a kind's permits are taken")
+    void testAcquire_RejectsWhenFull() throws Exception {
+        OperationLimiter.Permit permit = limiter.acquire(OperationLimiter.Kind.CONVERSION);
+
+        assertThrows(CapacityExceededException.class, () -> limiter.acquire(OperationLimiter.Kind.CONVERSION));
+        assertEquals(1, registry.get("pdf.limiter.queue").tag("kind", "conversion").tag("outcome", "rejected")
+            .timer().count());
+
+        permit.close();
+        permit.close();
+        assertEquals(1, limiter.getAvailable(OperationLimiter.Kind.CONVERSION));
+        limiter.acquire(OperationLimiter.Kind.CONVERSION).close();
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for a permit on timeout or interrupt")
+    void testAwait_TimeoutAndInterrupt() throws Exception {
+        try (OperationLimiter.Permit permit = limiter.await(OperationLimiter.Kind.CONVERSION, Duration.ofSeconds(1))) {
+            assertThrows(CapacityExceededException.class,
+                () -> limiter.await(OperationLimiter.Kind.CONVERSION, Duration.ofMillis(20)));
+
+            Thread.currentThread().interrupt();
+            assertThrows(InterruptedException.class,
+                () -> limiter.await(OperationLimiter.Kind.CONVERSION, Duration.ofMinutes(1)));
+            assertFalse(Thread.interrupted());
+        }
+        assertEquals(1, limiter.getAvailable(OperationLimiter.Kind.CONVERSION));
+        assertEquals(2, registry.get("pdf.limiter.queue").tag("kind", "conversion").tag("outcome", "rejected")
+            .timer().count());
+    }
+
+    @Test
+    @DisplayName("Should keep kinds independent of each other")
+    void testAcquire_KindsAreIndependent() throws Exception {
+        try (OperationLimiter.Permit conversion = limiter.acquire(OperationLimiter.Kind.CONVERSION);
+                OperationLimiter.Permit download = limiter.acquire(OperationLimiter.Kind.IO)) {
+            assertEquals(0, limiter.getAvailable(OperationLimiter.Kind.CONVERSION));
+            assertEquals(1, limiter.getAvailable(OperationLimiter.Kind.IO));
+            assertEquals(1.0, registry.get("pdf.limiter.active").tag("kind", "io").gauge().value());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.pdftools.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pdftools.dto.BatchItemResult;
+import com.pdftools.exception.PdfProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfBatchServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PdfService pdfService;
+    private OperationLimiter limiter;
+    private PdfBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        pdfService = new PdfService();
+        ReflectionTestUtils.setField(pdfService, "uploadDir", tempDir.toString());
+        limiter = new OperationLimiter(new SimpleMeterRegistry(), 1, 2, 2, 50);
+        batchService = new PdfBatchService(new PdfDocumentLoader(), pdfService, limiter, 2, 10);
+    }
+
+    private byte[] createValidPdf(int pageCount) throws Exception {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            for (int i = 0; i < pageCount; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(baos);
+            return baos.toByteArray();
+        }
+    }
+
+    private List<MultipartFile> createBatch() throws Exception {
+        return List.of(
+            new MockMultipartFile("files", "one.pdf", "application/pdf", createValidPdf(1)),
+            new MockMultipartFile("files", "broken.pdf", "application/pdf", "invalid content".getBytes()),
+            new MockMultipartFile("files", "three.pdf", "application/pdf", createValidPdf(3)));
+    }
+
+    private PdfBatchService.BatchTask watermark() {
+        return file -> {
+            var result = pdfService.addWatermark(file, "BATCH", null, null, null, 45, 0.3f, file.getOriginalFilename());
+            return new BatchItemResult(result.isSuccess(), result.getMessage(), result.getOutputFilename());
+        };
+    }
+
+    private List<BatchItemResult> parseLines(String ndjson) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<BatchItemResult> items = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            items.add(mapper.readValue(line, BatchItemResult.class));
+        }
+        items.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        return items;
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON line per file and isolate failures")
+    void testWrite_Ndjson() throws Exception {
+        List<SpooledMultipartFile> spooled = batchService.spool(createBatch());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        batchService.write(spooled, OperationLimiter.Kind.PROCESSING, watermark(), PdfBatchService.Format.NDJSON, out);
+
+        List<BatchItemResult> items = parseLines(out.toString(StandardCharsets.UTF_8));
+        assertEquals(3, items.size());
+        assertTrue(items.get(0).isSuccess());
+        assertEquals("one.pdf", items.get(0).getFilename());
+        assertFalse(items.get(1).isSuccess());
+        assertTrue(items.get(1).getMessage().startsWith("Failed to add watermark"));
+        assertTrue(items.get(2).isSuccess());
+        assertTrue(Files.exists(tempDir.resolve(items.get(2).getOutputFilename())));
+        for (SpooledMultipartFile file : spooled) {
+            assertFalse(Files.exists(file.getPath()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream outputs into a ZIP followed by the results")
+    void testWrite_Zip() throws Exception {
+        List<SpooledMultipartFile> spooled = batchService.spool(createBatch());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        batchService.write(spooled, OperationLimiter.Kind.PROCESSING, watermark(), PdfBatchService.Format.ZIP, out);
+
+        List<String> names = new ArrayList<>();
+        String results = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                if (entry.getName().equals("results.ndjson")) {
+                    results = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        assertEquals(3, names.size());
+        assertEquals("results.ndjson", names.get(2));
+        List<BatchItemResult> items = parseLines(results);
+        assertTrue(names.contains(items.get(0).getOutputFilename()));
+        assertTrue(names.contains(items.get(2).getOutputFilename()));
+    }
+
+    @Test
+    @DisplayName("Should run each file under a permit of the operation's kind")
+    void testWrite_HoldsPermitPerFile() throws Exception {
+        List<SpooledMultipartFile> spooled = batchService.spool(createBatch());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger freePermits = new AtomicInteger(-1);
+        PdfBatchService.BatchTask task = file -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            freePermits.set(limiter.getAvailable(OperationLimiter.Kind.CONVERSION));
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return new BatchItemResult(true, "done", null);
+        };
+
+        // Two batch workers, but only one conversion permit
+        batchService.write(spooled, OperationLimiter.Kind.CONVERSION, task, PdfBatchService.Format.NDJSON,
+            new ByteArrayOutputStream());
+
+        assertEquals(1, maxRunning.get());
+        assertEquals(0, freePermits.get());
+        assertEquals(1, limiter.getAvailable(OperationLimiter.Kind.CONVERSION));
+    }
+
+    @Test
+    @DisplayName("Should fail files that cannot get a permit in time")
+    void testWrite_PermitTimeout() throws Exception {
+        PdfBatchService service = new PdfBatchService(new PdfDocumentLoader(), pdfService, limiter, 2, 10, 20);
+        List<SpooledMultipartFile> spooled = service.spool(createBatch());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (OperationLimiter.Permit held = limiter.acquire(OperationLimiter.Kind.CONVERSION)) {
+            service.write(spooled, OperationLimiter.Kind.CONVERSION, file -> new BatchItemResult(true, "done", null),
+                PdfBatchService.Format.NDJSON, out);
+        }
+
+        List<BatchItemResult> items = parseLines(out.toString(StandardCharsets.UTF_8));
+        assertEquals(3, items.size());
+        for (BatchItemResult item : items) {
+            assertFalse(item.isSuccess());
+            assertEquals("Timed out waiting for a conversion permit", item.getMessage());
+        }
+        assertEquals(1, limiter.getAvailable(OperationLimiter.Kind.CONVERSION));
+    }
+
+    @Test
+    @DisplayName("Should reject batches above the file limit")
+    void testSpool_TooManyFiles() throws Exception {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            files.add(new MockMultipartFile("files", "f" + i + ".pdf", "application/pdf", createValidPdf(1)));
+        }
+
+        assertThrows(PdfProcessingException.class, () -> batchService.spool(files));
+        assertThrows(PdfProcessingException.class, () -> PdfBatchService.Format.parse("tar"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.PdfInfo;
+import com.pdftools.exception.PdfProcessingException;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfInfoServiceTest {
+
+    private final PdfInfoService service = new PdfInfoService();
+
+    /**
+     * Letter page with text, A4 landscape page with the same image drawn twice, blank letter page
+     */
+    private byte[] createMixedPdf() throws Exception {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            document.setVersion(1.7f);
+            document.getDocumentInformation().setTitle("Quarterly report");
+            document.getDocumentInformation().setProducer("pdf-tools test");
+
+            PDPage textPage = new PDPage(PDRectangle.LETTER);
+            document.addPage(textPage);
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, textPage)) {
+                contentStream.beginText();
+                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
+                contentStream.newLineAtOffset(72, 700);
+                contentStream.showText("Summary");
+                contentStream.endText();
+            }
+
+            PDPage imagePage = new PDPage(PDRectangle.A4);
+            imagePage.setRotation(90);
+            document.addPage(imagePage);
+            PDImageXObject image = LosslessFactory.createFromImage(document,
+                new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB));
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, imagePage)) {
+                contentStream.drawImage(image, 50, 50);
+                contentStream.drawImage(image, 150, 50);
+            }
+
+            document.addPage(new PDPage(PDRectangle.LETTER));
+            document.save(baos);
+            return baos.toByteArray();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report structure and metadata without content")
+    void testGetInfo_Details() throws Exception {
+        byte[] pdf = createMixedPdf();
+        MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+        PdfInfo info = service.getInfo(file);
+
+        assertEquals(3, info.getPageCount());
+        assertEquals("1.7", info.getPdfVersion());
+        assertFalse(info.isEncrypted());
+        assertEquals("Quarterly report", info.getTitle());
+        assertEquals("pdf-tools test", info.getProducer());
+        assertEquals(pdf.length, info.getFileSize());
+        assertEquals(Map.of("612x792", 2, "842x595", 1), info.getPageSizes());
+        assertEquals(List.of("Helvetica-Bold"), info.getFonts());
+        assertEquals(1, info.getImageCount());
+        assertEquals(1.0 / 3, info.getTextDensity(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated uploads of the same bytes from the cache")
+    void testGetInfo_CachedByContent() throws Exception {
+        byte[] pdf = createMixedPdf();
+
+        PdfInfo first = service.getInfo(new MockMultipartFile("file", "a.pdf", "application/pdf", pdf));
+        PdfInfo second = service.getInfo(new MockMultipartFile("file", "b.pdf", "application/pdf", pdf));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should report the size of a spooled upload that is moved on load")
+    void testGetInfo_SpooledUpload(@TempDir Path tempDir) throws Exception {
+        byte[] pdf = createMixedPdf();
+        Path spooled = Files.write(tempDir.resolve("upload.pdf"), pdf);
+        MockMultipartFile source = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+        PdfInfo info = service.getInfo(new SpooledMultipartFile(spooled, source));
+
+        assertEquals(pdf.length, info.getFileSize());
+    }
+
+    @Test
+    @DisplayName("Should count text on pages that inherit their resources")
+    void testGetInfo_InheritedResources() throws Exception {
+        byte[] pdf;
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage(PDRectangle.LETTER);
+            document.addPage(page);
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.beginText();
+                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                contentStream.newLineAtOffset(72, 700);
+                contentStream.showText("Inherited");
+                contentStream.endText();
+            }
+            // Move the resources up to the page tree root
+            COSDictionary resources = page.getCOSObject().getCOSDictionary(COSName.RESOURCES);
+            page.getCOSObject().removeItem(COSName.RESOURCES);
+            document.getPages().getCOSObject().setItem(COSName.RESOURCES, resources);
+            document.save(baos);
+            pdf = baos.toByteArray();
+        }
+
+        PdfInfo info = service.getInfo(new MockMultipartFile("file", "test.pdf", "application/pdf", pdf));
+
+        assertEquals(List.of("Helvetica"), info.getFonts());
+        assertEquals(1.0, info.getTextDensity(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should throw exception for invalid PDF")
+    void testGetInfo_InvalidFile() {
+        MockMultipartFile invalidFile = new MockMultipartFile(
+            "file", "test.pdf", "application/pdf", "invalid content".getBytes());
+
+        assertThrows(PdfProcessingException.class, () -> service.getInfo(invalidFile));
+    }
+}
@@ -0,0 +1,106 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.PdfJob;
+import com.pdftools.dto.PdfOperationResult;
+import com.pdftools.exception.CapacityExceededException;
+import com.pdftools.exception.PdfProcessingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfJobServiceTest {
+
+    private PdfJobService jobService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        PdfDocumentLoader loader = new PdfDocumentLoader(tempDir.toString(), 1024, -1, "buffered");
+        jobService = new PdfJobService(loader, 1, 1, 1, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    private MockMultipartFile upload() {
+        return new MockMultipartFile("file", "test.pdf", "application/pdf", "content".getBytes());
+    }
+
+    private PdfJob awaitFinished(String id) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            PdfJob job = jobService.getJob(id).orElseThrow();
+            if (job.getStatus() == PdfJob.Status.SUCCEEDED || job.getStatus() == PdfJob.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(25);
+        }
+        fail("Job did not finish in time");
+        return null;
+    }
+
+    @Test
+    @DisplayName("Should run job in background and report its result")
+    void testSubmit_Success() throws Exception {
+        PdfJob queued = jobService.submit("watermark", List.of(upload()),
+            files -> new PdfOperationResult(true, "done", files.get(0).getOriginalFilename()));
+
+        assertNotNull(queued.getId());
+        PdfJob finished = awaitFinished(queued.getId());
+        assertEquals(PdfJob.Status.SUCCEEDED, finished.getStatus());
+        assertEquals("test.pdf", finished.getResult().getOutputFilename());
+        assertNotNull(finished.getFinishedAt());
+    }
+
+    @Test
+    @DisplayName("Should report failed jobs with the error message")
+    void testSubmit_Failure() throws Exception {
+        PdfJob queued = jobService.submit("split", List.of(upload()), files -> {
+            throw new PdfProcessingException("Failed to split PDF: broken");
+        });
+
+        PdfJob finished = awaitFinished(queued.getId());
+        assertEquals(PdfJob.Status.FAILED, finished.getStatus());
+        assertFalse(finished.getResult().isSuccess());
+        assertEquals("Failed to split PDF: broken", finished.getResult().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject submissions beyond the pending limit")
+    void testSubmit_RejectedWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PdfJob blocking = jobService.submit("merge", List.of(upload()), files -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new PdfOperationResult(true, "done", null);
+        });
+
+        assertThrows(CapacityExceededException.class, () ->
+            jobService.submit("merge", List.of(upload()), files -> new PdfOperationResult(true, "done", null)));
+
+        release.countDown();
+        assertEquals(PdfJob.Status.SUCCEEDED, awaitFinished(blocking.getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown job ids")
+    void testGetJob_Unknown() {
+        assertTrue(jobService.getJob("missing").isEmpty());
+    }
+}
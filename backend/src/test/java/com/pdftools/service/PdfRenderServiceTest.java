@@ -0,0 +1,96 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.PageThumbnail;
+import com.pdftools.dto.ThumbnailResult;
+import com.pdftools.exception.PdfProcessingException;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfRenderServiceTest {
+
+    private final TileCache tileCache = new TileCache();
+    private final PdfRenderService service =
+        new PdfRenderService(new PdfDocumentLoader(), new PdfWorkerPool(4), tileCache);
+
+    /**
+     * Letter pages, each with a black square in the lower left corner; the last page is A4 landscape
+     */
+    private MockMultipartFile createPdf(int pageCount) throws Exception {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            for (int i = 0; i < pageCount; i++) {
+                PDPage page = i == pageCount - 1
+                    ? new PDPage(new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth()))
+                    : new PDPage(PDRectangle.LETTER);
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.setNonStrokingColor(Color.BLACK);
+                    contentStream.addRect(0, 0, 72, 72);
+                    contentStream.fill();
+                }
+            }
+            document.save(baos);
+            return new MockMultipartFile("file", "test.pdf", "application/pdf", baos.toByteArray());
+        }
+    }
+
+    @Test
+    @DisplayName("Should render every page at the requested DPI")
+    void testRenderThumbnails() throws Exception {
+        ThumbnailResult result = service.renderThumbnails(createPdf(6), null, 36);
+
+        assertTrue(result.isSuccess());
+        assertEquals(6, result.getPageCount());
+        assertEquals(6, result.getThumbnails().size());
+        assertEquals(new PageThumbnail(1, 306, 396), result.getThumbnails().get(0));
+        assertEquals(new PageThumbnail(6, 420, 297), result.getThumbnails().get(5));
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(
+            service.getThumbnail(result.getDocumentId(), 2, 36)));
+        assertEquals(306, image.getWidth());
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(10, 385));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(100, 100));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated previews from the tile cache")
+    void testRenderThumbnails_Cached() throws Exception {
+        MockMultipartFile file = createPdf(3);
+        ThumbnailResult first = service.renderThumbnails(file, List.of(1, 3), 50);
+        assertEquals(0, tileCache.getHits());
+
+        ThumbnailResult second = service.renderThumbnails(file, List.of(3, 1, 3), 50);
+
+        assertEquals(first.getDocumentId(), second.getDocumentId());
+        assertEquals(List.of(3, 1), second.getThumbnails().stream().map(PageThumbnail::getPage).toList());
+        assertEquals(first.getThumbnails(), List.of(second.getThumbnails().get(1), second.getThumbnails().get(0)));
+        assertEquals(2, tileCache.getHits());
+        assertNull(service.getThumbnail(first.getDocumentId(), 2, 50));
+        assertNull(service.getThumbnail(first.getDocumentId(), 1, 72));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid DPI, pages and document ids")
+    void testRenderThumbnails_Invalid() throws Exception {
+        MockMultipartFile file = createPdf(2);
+
+        assertThrows(PdfProcessingException.class, () -> service.renderThumbnails(file, null, 5));
+        assertThrows(PdfProcessingException.class, () -> service.renderThumbnails(file, null, 301));
+        assertThrows(PdfProcessingException.class, () -> service.renderThumbnails(file, List.of(3), 72));
+        assertThrows(PdfProcessingException.class, () -> service.getThumbnail("../../etc/passwd", 1, 72));
+    }
+}
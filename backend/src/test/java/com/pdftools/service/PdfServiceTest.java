@@ -1,9 +1,38 @@
 package com.pdftools.service;
 
 import com.pdftools.dto.PdfOperationResult;
+import com.pdftools.dto.PipelineStep;
+import com.pdftools.dto.RedactionArea;
+import com.pdftools.dto.RedactionSearchResult;
 import com.pdftools.exception.PdfProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDFormContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDCIDFont;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationFreeText;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationPopup;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationText;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.apache.pdfbox.util.Matrix;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,16 +40,30 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,6 +94,28 @@ class PdfServiceTest {
         }
     }
 
+    /**
+     * Helper method to create a PDF whose pages contain the text "Page N"
+     */
+    private byte[] createTextPdf(int pageCount) throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            for (int i = 0; i < pageCount; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    contentStream.newLineAtOffset(72, 700);
+                    contentStream.showText("Page " + (i + 1));
+                    contentStream.endText();
+                }
+            }
+            document.save(baos);
+            return baos.toByteArray();
+        }
+    }
+
     /**
      * Helper method to create a valid PNG signature image
      */
@@ -75,6 +140,153 @@ class PdfServiceTest {
         assertTrue(dir.isDirectory());
     }
 
+    @Nested
+    @DisplayName("Document Loading Tests")
+    class DocumentLoadingTests {
+
+        @Test
+        @DisplayName("Should remove spooled uploads after processing")
+        void testSpooledUploadsRemoved() throws Exception {
+            Path scratchDir = Files.createDirectory(tempDir.resolve("scratch"));
+            PdfService service = new PdfService(
+                new PdfDocumentLoader(scratchDir.toString(), 1024, -1, "mapped"));
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(3));
+
+            PdfOperationResult result = service.removePages(file, Arrays.asList(2), "test.pdf");
+
+            assertTrue(result.isSuccess());
+            try (var leftovers = Files.list(scratchDir)) {
+                assertTrue(leftovers.noneMatch(p -> p.getFileName().toString().startsWith("upload-")));
+            }
+        }
+
+        @Test
+        @DisplayName("Should remove spooled upload when parsing fails")
+        void testSpooledUploadRemovedOnFailure() throws Exception {
+            Path scratchDir = Files.createDirectory(tempDir.resolve("scratch"));
+            PdfDocumentLoader loader = new PdfDocumentLoader(scratchDir.toString(), 1024, -1, "buffered");
+            MockMultipartFile invalidFile = new MockMultipartFile(
+                "file", "test.pdf", "application/pdf", "invalid".getBytes());
+
+            assertThrows(IOException.class, () -> loader.load(invalidFile));
+            try (var leftovers = Files.list(scratchDir)) {
+                assertEquals(0, leftovers.count());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics Tests")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Should time operation phases and record sizes")
+        void testOperationMetrics() throws Exception {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            PdfDocumentLoader loader = new PdfDocumentLoader();
+            PdfWorkerPool pool = new PdfWorkerPool();
+            PdfService service = new PdfService(loader, pool, new ParallelTextExtractor(loader, pool), 
+                new ResultCache(), new PdfMetrics(registry));
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            byte[] pdf = createValidPdf(3);
+
+            service.addWatermark(new MockMultipartFile("file", "test.pdf", "application/pdf", pdf), 
+                "DRAFT", null, null, 45f, 0.3f, "test.pdf");
+            assertThrows(PdfProcessingException.class, () -> service.addWatermark(
+                new MockMultipartFile("file", "bad.pdf", "application/pdf", "invalid".getBytes()), 
+                "DRAFT", null, null, 45f, 0.3f, "bad.pdf"));
+
+            assertEquals(1, registry.get("pdf.operation")
+                .tags("operation", "watermark", "outcome", "success").timer().count());
+            assertEquals(1, registry.get("pdf.operation")
+                .tags("operation", "watermark", "outcome", "failure").timer().count());
+            assertEquals(2, registry.get("pdf.operation.phase")
+                .tags("operation", "watermark", "phase", "load").timer().count());
+            assertEquals(3, registry.get("pdf.input.pages").tag("operation", "watermark").summary().totalAmount());
+            assertEquals(pdf.length + "invalid".length(), 
+                registry.get("pdf.input.size").tag("operation", "watermark").summary().totalAmount());
+            assertTrue(registry.get("pdf.output.size").tag("operation", "watermark").summary().totalAmount() > 0);
+        }
+
+        @Test
+        @DisplayName("Should count failures by the type of their innermost cause")
+        void testFailureCause() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            PdfMetrics metrics = new PdfMetrics(registry);
+
+            metrics.recordFailure(new PdfProcessingException("Failed to load PDF", 
+                new IOException("wrapped", new EOFException("truncated"))));
+
+            assertEquals(1, registry.get("pdf.failures")
+                .tags("exception", "PdfProcessingException", "cause", "EOFException").counter().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Result Cache Tests")
+    class ResultCacheTests {
+
+        @Test
+        @DisplayName("Should reuse output for identical requests")
+        void testIdenticalRequestHitsCache() throws Exception {
+            ResultCache cache = new ResultCache();
+            PdfDocumentLoader loader = new PdfDocumentLoader();
+            PdfWorkerPool pool = new PdfWorkerPool();
+            PdfService service = new PdfService(loader, pool, new ParallelTextExtractor(loader, pool), cache);
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            byte[] pdf = createValidPdf(2);
+
+            PdfOperationResult first = service.addWatermark(
+                new MockMultipartFile("file", "test.pdf", "application/pdf", pdf), "DRAFT", null, null, 45f, 0.3f, "test.pdf");
+            PdfOperationResult second = service.addWatermark(
+                new MockMultipartFile("file", "test.pdf", "application/pdf", pdf), "DRAFT", null, null, 45f, 0.3f, "test.pdf");
+            PdfOperationResult different = service.addWatermark(
+                new MockMultipartFile("file", "test.pdf", "application/pdf", pdf), "FINAL", null, null, 45f, 0.3f, "test.pdf");
+
+            assertEquals(first.getOutputFilename(), second.getOutputFilename());
+            assertNotEquals(first.getOutputFilename(), different.getOutputFilename());
+            assertEquals(1, cache.getHits());
+            assertEquals(2, cache.getMisses());
+        }
+
+        @Test
+        @DisplayName("Should miss when cached output was deleted")
+        void testDeletedOutputMisses() throws Exception {
+            ResultCache cache = new ResultCache();
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(1));
+            Path output = Files.write(tempDir.resolve("out.pdf"), createValidPdf(1));
+            String key = cache.key(file, "remove", List.of(1));
+
+            cache.put(key, output.toFile());
+            assertEquals("out.pdf", cache.lookup(key));
+            Files.delete(output);
+
+            assertNull(cache.lookup(key));
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        @DisplayName("Should evict least recently used entries beyond the limit")
+        void testEvictsLeastRecentlyUsed() throws Exception {
+            ResultCache cache = new ResultCache(true, 2, Long.MAX_VALUE, 60);
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(1));
+            Path output = Files.write(tempDir.resolve("out.pdf"), createValidPdf(1));
+            String a = cache.key(file, "op", "a");
+            String b = cache.key(file, "op", "b");
+            String c = cache.key(file, "op", "c");
+
+            cache.put(a, output.toFile());
+            cache.put(b, output.toFile());
+            cache.lookup(a);
+            cache.put(c, output.toFile());
+
+            assertNotNull(cache.lookup(a));
+            assertNull(cache.lookup(b));
+            assertEquals(1, cache.getEvictions());
+        }
+    }
+
     @Nested
     @DisplayName("Merge PDF Tests")
     class MergePdfTests {
@@ -124,6 +336,47 @@ class PdfServiceTest {
             assertTrue(result.getOutputFilename().startsWith("malicious_"));
             assertTrue(result.getOutputFilename().endsWith(".pdf"));
         }
+
+        @Test
+        @DisplayName("Should merge many inputs preserving page count")
+        void testMergePdfs_ManyInputs() throws Exception {
+            List<MockMultipartFile> uploads = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                uploads.add(new MockMultipartFile("file", "test" + i + ".pdf", "application/pdf", createValidPdf(2)));
+            }
+
+            PdfOperationResult result = pdfService.mergePdfs(List.copyOf(uploads), "bulk.pdf");
+
+            try (PDDocument merged = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                assertEquals(80, merged.getNumberOfPages());
+            }
+        }
+
+        @Test
+        @DisplayName("Should merge previously generated files from the upload directory")
+        void testMergeStoredFiles_Success() throws Exception {
+            Files.write(tempDir.resolve("first.pdf"), createValidPdf(2));
+            Files.write(tempDir.resolve("second.pdf"), createValidPdf(3));
+
+            PdfOperationResult result = pdfService.mergeStoredFiles(Arrays.asList("first.pdf", "second.pdf"), "combined.pdf");
+
+            assertTrue(result.isSuccess());
+            assertTrue(result.getOutputFilename().startsWith("combined_merged_"));
+            try (PDDocument merged = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                assertEquals(5, merged.getNumberOfPages());
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject stored merge of non-PDF or traversal filenames")
+        void testMergeStoredFiles_Invalid() throws Exception {
+            Files.write(tempDir.resolve("notes.md"), "# Notes".getBytes());
+
+            assertThrows(PdfProcessingException.class, () ->
+                pdfService.mergeStoredFiles(Arrays.asList("notes.md"), null));
+            assertThrows(PdfProcessingException.class, () ->
+                pdfService.mergeStoredFiles(Arrays.asList("../etc/passwd.pdf"), null));
+        }
     }
 
     @Nested
@@ -172,6 +425,65 @@ class PdfServiceTest {
                 assertTrue(filename.startsWith("malicious_"));
             }
         }
+
+        @Test
+        @DisplayName("Should keep group order when writing parts in parallel")
+        void testSplitPdf_ParallelGroups() throws Exception {
+            PdfDocumentLoader loader = new PdfDocumentLoader();
+            PdfService service = new PdfService(loader, new PdfWorkerPool(3));
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createTextPdf(6));
+
+            PdfOperationResult result = service.splitPdf(file, "1-2;9;3;4-6;5", "test.pdf");
+
+            assertTrue(result.isSuccess());
+            assertEquals("PDF split into 4 documents", result.getMessage());
+            String[] filenames = result.getOutputFilename().split(",");
+            assertTrue(filenames[0].startsWith("test_split_part1_"));
+            assertTrue(filenames[1].startsWith("test_split_part3_"));
+            assertTrue(filenames[2].startsWith("test_split_part4_"));
+            assertTrue(filenames[3].startsWith("test_split_part5_"));
+            try (PDDocument part = Loader.loadPDF(tempDir.resolve(filenames[2]).toFile())) {
+                assertEquals(3, part.getNumberOfPages());
+            }
+        }
+
+        @Test
+        @DisplayName("Should package all parts into a single ZIP")
+        void testSplitPdf_Zip() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(3));
+
+            PdfOperationResult result = pdfService.splitPdf(file, null, true, "test.pdf");
+
+            assertTrue(result.isSuccess());
+            assertEquals("PDF split into 3 documents", result.getMessage());
+            assertTrue(result.getOutputFilename().endsWith(".zip"));
+            List<String> entries = new ArrayList<>();
+            try (ZipInputStream zip = new ZipInputStream(
+                    Files.newInputStream(tempDir.resolve(result.getOutputFilename())))) {
+                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    entries.add(entry.getName());
+                }
+            }
+            assertEquals(List.of("test_split_page1.pdf", "test_split_page2.pdf", "test_split_page3.pdf"), entries);
+            try (var leftovers = Files.list(tempDir)) {
+                assertEquals(1, leftovers.count());
+            }
+        }
+
+        @Test
+        @DisplayName("Should report progress for every page written")
+        void testSplitPdf_ReportsProgress() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(6));
+            List<int[]> events = Collections.synchronizedList(new ArrayList<>());
+
+            pdfService.splitPdf(file, "1-2;3-6", false, "test.pdf", 
+                (processed, total) -> events.add(new int[]{processed, total}));
+
+            assertArrayEquals(new int[]{0, 6}, events.get(0));
+            assertEquals(6, events.stream().mapToInt(event -> event[0]).max().orElse(0));
+            assertEquals(3, events.size());
+        }
     }
 
     @Nested
@@ -241,6 +553,29 @@ class PdfServiceTest {
             assertNotNull(result.getOutputFilename());
             assertTrue(result.getOutputFilename().contains("watermarked"));
         }
+
+        @Test
+        @DisplayName("Should share one watermark form across all pages")
+        void testAddWatermark_SharedForm() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(20));
+
+            PdfOperationResult result = pdfService.addWatermark(file, "CONFIDENTIAL", null, null, 45f, 0.3f, "test.pdf");
+
+            assertTrue(result.isSuccess());
+            try (PDDocument output = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                Set<COSBase> forms = new HashSet<>();
+                for (PDPage page : output.getPages()) {
+                    for (COSName name : page.getResources().getXObjectNames()) {
+                        forms.add(page.getResources().getXObject(name).getCOSObject());
+                    }
+                }
+                assertEquals(1, forms.size());
+                PDFormXObject form = (PDFormXObject) output.getPage(19).getResources().getXObject(
+                    output.getPage(19).getResources().getXObjectNames().iterator().next());
+                COSName stateName = form.getResources().getExtGStateNames().iterator().next();
+                assertEquals(0.3f, form.getResources().getExtGState(stateName).getNonStrokingAlphaConstant(), 0.001f);
+            }
+        }
     }
 
     @Nested
@@ -270,6 +605,82 @@ class PdfServiceTest {
                 pdfService.addText(file, "Hello", 100f, 500f, 5, 12f, "HELVETICA", "#000000", "test.pdf");
             });
         }
+
+        @Test
+        @DisplayName("Should stamp non-Latin text with an embedded registered font")
+        void testAddText_RegisteredFont() throws Exception {
+            Path fontsDir = Files.createDirectory(tempDir.resolve("fonts"));
+            FontRegistryTest.copyBundledFont(fontsDir);
+            PdfDocumentLoader loader = new PdfDocumentLoader();
+            PdfWorkerPool pool = new PdfWorkerPool();
+            PdfService service = new PdfService(loader, pool, new ParallelTextExtractor(loader, pool), 
+                new ResultCache(), new PdfMetrics(), new FontRegistry(fontsDir.toString()));
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(1));
+
+            PdfOperationResult result = service.addText(file, "Привет Ελλάδα", 50f, 700f, 1, 14f, 
+                "LiberationSans-Regular", "#000000", "test.pdf");
+
+            assertTrue(result.isSuccess());
+            try (PDDocument output = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                assertTrue(new PDFTextStripper().getText(output).contains("Привет Ελλάδα"));
+                PDFont font = output.getPage(0).getResources().getFont(
+                    output.getPage(0).getResources().getFontNames().iterator().next());
+                // Subset fonts carry a six-letter tag, e.g. ABCDEF+LiberationSans
+                assertTrue(font.getName().matches("[A-Z]{6}\\+.*"), font.getName());
+            }
+        }
+
+        @Test
+        @DisplayName("Should append text as an incremental update")
+        void testAddText_Incremental() throws Exception {
+            byte[] pdf = createValidPdf(3);
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            PdfOperationResult result = pdfService.addText(file, "Signed off", 100f, 500f, 2, 12f, 
+                "HELVETICA", "#000000", true, "test.pdf");
+
+            assertTrue(result.isSuccess());
+            byte[] output = Files.readAllBytes(tempDir.resolve(result.getOutputFilename()));
+            assertTrue(output.length > pdf.length);
+            assertArrayEquals(pdf, Arrays.copyOf(output, pdf.length));
+            try (PDDocument updated = Loader.loadPDF(output)) {
+                PDFTextStripper stripper = new PDFTextStripper();
+                stripper.setStartPage(2);
+                stripper.setEndPage(2);
+                assertTrue(stripper.getText(updated).contains("Signed off"));
+            }
+        }
+
+        @Test
+        @DisplayName("Should embed the registered font subset in an incremental update")
+        void testAddText_IncrementalRegisteredFont() throws Exception {
+            Path fontsDir = Files.createDirectory(tempDir.resolve("fonts"));
+            FontRegistryTest.copyBundledFont(fontsDir);
+            PdfDocumentLoader loader = new PdfDocumentLoader();
+            PdfWorkerPool pool = new PdfWorkerPool();
+            PdfService service = new PdfService(loader, pool, new ParallelTextExtractor(loader, pool), 
+                new ResultCache(), new PdfMetrics(), new FontRegistry(fontsDir.toString()));
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            byte[] pdf = createValidPdf(1);
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            PdfOperationResult result = service.addText(file, "Привет Ελλάδα", 50f, 700f, 1, 14f, 
+                "LiberationSans-Regular", "#000000", true, "test.pdf");
+
+            assertTrue(result.isSuccess());
+            byte[] output = Files.readAllBytes(tempDir.resolve(result.getOutputFilename()));
+            assertArrayEquals(pdf, Arrays.copyOf(output, pdf.length));
+            try (PDDocument updated = Loader.loadPDF(output)) {
+                PDResources resources = updated.getPage(0).getResources();
+                PDFont font = resources.getFont(resources.getFontNames().iterator().next());
+                PDCIDFont descendant = assertInstanceOf(PDType0Font.class, font).getDescendantFont();
+                assertNotNull(descendant.getFontDescriptor().getFontFile2(), "font program not embedded");
+                assertNotNull(descendant.getCOSObject().getCOSArray(COSName.W), "glyph widths missing");
+                assertTrue(font.getName().matches("[A-Z]{6}\\+.*"), font.getName());
+                assertTrue(new PDFTextStripper().getText(updated).contains("Привет Ελλάδα"));
+            }
+        }
     }
 
     @Nested
@@ -334,6 +745,471 @@ class PdfServiceTest {
                 pdfService.redactText(file, 100f, 700f, 200f, 30f, 10, "test.pdf");
             });
         }
+
+        @Test
+        @DisplayName("Should remove covered text and keep the rest in place")
+        void testRedactText_RemovesText() throws Exception {
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    contentStream.newLineAtOffset(72, 700);
+                    contentStream.showText("Name: John Doe, Role: Admin");
+                    contentStream.newLineAtOffset(0, -100);
+                    contentStream.showText("Public notice");
+                    contentStream.endText();
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            // At 12pt Helvetica "Name: " is 38.68pt wide and "John Doe" 51.36pt
+            PdfOperationResult result = pdfService.redactText(file, 108f, 695f, 53f, 20f, 1, "test.pdf");
+
+            try (PDDocument redacted = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                List<Float> positions = new ArrayList<>();
+                PDFTextStripper stripper = new PDFTextStripper() {
+                    @Override
+                    protected void writeString(String text, List<TextPosition> textPositions)
+                            throws IOException {
+                        if (text.startsWith(",")) {
+                            positions.add(textPositions.get(0).getXDirAdj());
+                        }
+                        super.writeString(text, textPositions);
+                    }
+                };
+                String text = stripper.getText(redacted);
+                assertFalse(text.contains("John"), text);
+                assertFalse(text.contains("Doe"), text);
+                assertTrue(text.contains("Name:"), text);
+                assertTrue(text.contains("Role: Admin"), text);
+                assertTrue(text.contains("Public notice"), text);
+                // The text after the removed glyphs stays where it was
+                assertEquals(72 + 38.68f + 51.36f, positions.get(0), 0.1f);
+            }
+        }
+
+        @Test
+        @DisplayName("Should remove text drawn through nested forms without changing other pages")
+        void testRedactText_Form() throws Exception {
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDFormXObject inner = new PDFormXObject(document);
+                inner.setBBox(new PDRectangle(612, 792));
+                inner.setResources(new PDResources());
+                try (PDFormContentStream formStream = new PDFormContentStream(inner)) {
+                    formStream.beginText();
+                    formStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    formStream.newLineAtOffset(72, 700);
+                    formStream.showText("Account 12345678");
+                    formStream.endText();
+                }
+                PDFormXObject outer = new PDFormXObject(document);
+                outer.setBBox(new PDRectangle(612, 792));
+                outer.setResources(new PDResources());
+                try (PDFormContentStream formStream = new PDFormContentStream(outer)) {
+                    formStream.drawForm(inner);
+                }
+
+                // Page 1 draws the forms 100pt lower, page 2 draws the inner form as is
+                PDPage redactedPage = new PDPage();
+                document.addPage(redactedPage);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, redactedPage)) {
+                    contentStream.saveGraphicsState();
+                    contentStream.transform(Matrix.getTranslateInstance(0, -100));
+                    contentStream.drawForm(outer);
+                    contentStream.restoreGraphicsState();
+                }
+                PDPage sharedPage = new PDPage();
+                document.addPage(sharedPage);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, sharedPage)) {
+                    contentStream.drawForm(inner);
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            // At 12pt Helvetica "Account " is 46.69pt wide; the digits sit on the baseline at y=600
+            PdfOperationResult result = pdfService.redactText(file, 117f, 595f, 60f, 20f, 1, "test.pdf");
+
+            try (PDDocument redacted = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                PDFTextStripper stripper = new PDFTextStripper();
+                stripper.setStartPage(1);
+                stripper.setEndPage(1);
+                String text = stripper.getText(redacted);
+                assertFalse(text.contains("1234"), text);
+                assertTrue(text.contains("Account"), text);
+                stripper.setStartPage(2);
+                stripper.setEndPage(2);
+                assertEquals("Account 12345678", stripper.getText(redacted).trim());
+            }
+        }
+
+        @Test
+        @DisplayName("Should remove annotations and form fields over a redacted area")
+        void testRedactText_Annotations() throws Exception {
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+
+                PDAcroForm form = new PDAcroForm(document);
+                document.getDocumentCatalog().setAcroForm(form);
+                PDResources formResources = new PDResources();
+                formResources.put(COSName.getPDFName("Helv"), new PDType1Font(Standard14Fonts.FontName.HELVETICA));
+                form.setDefaultResources(formResources);
+                form.setDefaultAppearance("/Helv 12 Tf 0 g");
+                PDTextField field = new PDTextField(form);
+                field.setPartialName("account");
+                form.getFields().add(field);
+                PDAnnotationWidget widget = field.getWidgets().get(0);
+                widget.setRectangle(new PDRectangle(100, 600, 150, 20));
+                widget.setPage(page);
+
+                PDAnnotationFreeText note = new PDAnnotationFreeText();
+                note.setRectangle(new PDRectangle(100, 650, 150, 20));
+                note.setContents("Card 4111 1111 1111 1111");
+                PDAnnotationPopup popup = new PDAnnotationPopup();
+                popup.setRectangle(new PDRectangle(400, 650, 150, 100));
+                popup.setParent(note);
+                note.setPopup(popup);
+                PDAnnotationText outside = new PDAnnotationText();
+                outside.setRectangle(new PDRectangle(100, 100, 20, 20));
+                outside.setContents("Kept");
+                page.getAnnotations().addAll(List.of(widget, note, popup, outside));
+                field.setValue("12345678");
+
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            PdfOperationResult result = pdfService.redactText(file, 90f, 590f, 200f, 90f, 1, "test.pdf");
+
+            try (PDDocument redacted = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                List<PDAnnotation> annotations = redacted.getPage(0).getAnnotations();
+                assertEquals(1, annotations.size());
+                assertEquals("Kept", annotations.get(0).getContents());
+                assertNull(redacted.getDocumentCatalog().getAcroForm().getField("account"));
+            }
+        }
+
+        @Test
+        @DisplayName("Should remove text from many pages in parallel")
+        void testRedactMultiple_Parallel() throws Exception {
+            PdfService service = new PdfService(new PdfDocumentLoader(), new PdfWorkerPool(4));
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createTextPdf(40));
+            StringBuilder redactions = new StringBuilder("[");
+            for (int page = 1; page <= 40; page += 2) {
+                redactions.append(page > 1 ? "," : "")
+                    .append("{\"x\":70,\"y\":695,\"width\":100,\"height\":20,\"pageNum\":").append(page).append('}');
+            }
+            redactions.append("]");
+
+            PdfOperationResult result = service.redactMultiple(file, redactions.toString(), "test.pdf");
+
+            try (PDDocument redacted = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                assertEquals(40, redacted.getNumberOfPages());
+                PDFTextStripper stripper = new PDFTextStripper();
+                for (int page = 1; page <= 40; page++) {
+                    stripper.setStartPage(page);
+                    stripper.setEndPage(page);
+                    String text = stripper.getText(redacted).trim();
+                    assertEquals(page % 2 == 1 ? "" : "Page " + page, text);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject malformed redactions before loading the document")
+        void testRedactMultiple_InvalidRedactions() {
+            MockMultipartFile invalidPdf = new MockMultipartFile(
+                "file", "test.pdf", "application/pdf", "invalid".getBytes());
+
+            for (String redactions : List.of("{}", "[{\"x\":1,\"y\":1,\"width\":5,\"height\":5,\"pageNum\":0}]",
+                    "[{\"x\":\"left\",\"y\":1,\"width\":5,\"height\":5,\"pageNum\":1}]",
+                    "[{\"x\":1,\"y\":1,\"width\":5,\"height\":5,\"pageNum\":1.5}]", "[1]")) {
+                PdfProcessingException e = assertThrows(PdfProcessingException.class,
+                    () -> pdfService.redactMultiple(invalidPdf, redactions, "test.pdf"));
+                assertTrue(e.getMessage().startsWith("Invalid redaction"), e.getMessage());
+            }
+        }
+
+        @Test
+        @DisplayName("Should skip redactions on pages the document does not have")
+        void testRedactMultiple_MissingPage() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createTextPdf(2));
+            String redactions = "[{\"x\":70,\"y\":695,\"width\":100,\"height\":20,\"pageNum\":2,\"label\":\"name\"},"
+                + "{\"x\":70,\"y\":695,\"width\":100,\"height\":20,\"pageNum\":7}]";
+
+            PdfOperationResult result = pdfService.redactMultiple(file, redactions, "test.pdf");
+
+            try (PDDocument redacted = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                assertEquals("Page 1", new PDFTextStripper().getText(redacted).trim());
+            }
+        }
+
+        @Test
+        @DisplayName("Should redact regular expression matches and count them per page")
+        void testRedactMatches() throws Exception {
+            String[] pages = {
+                "Call 555-123-4567 or mail john.doe@example.com today",
+                "Nothing to see here",
+                "Phone 555-987-6543"
+            };
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                for (String line : pages) {
+                    PDPage page = new PDPage();
+                    document.addPage(page);
+                    try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                        contentStream.beginText();
+                        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                        contentStream.newLineAtOffset(72, 700);
+                        contentStream.showText(line);
+                        contentStream.endText();
+                    }
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            PdfService service = new PdfService(new PdfDocumentLoader(), new PdfWorkerPool(3));
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            RedactionSearchResult result = service.redactMatches(file,
+                List.of("\\d{3}-\\d{3}-\\d{4}", "[\\w.]+@[\\w.]+"), "test.pdf");
+
+            assertTrue(result.isSuccess());
+            assertEquals(3, result.getTotalMatches());
+            assertEquals(Map.of(1, 2, 3, 1), result.getMatchesByPage());
+            try (PDDocument redacted = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                String text = new PDFTextStripper().getText(redacted);
+                assertFalse(text.contains("555"), text);
+                assertFalse(text.contains("example"), text);
+                assertTrue(text.contains("Call"), text);
+                assertTrue(text.contains("today"), text);
+                assertTrue(text.contains("Nothing to see here"), text);
+                assertTrue(text.contains("Phone"), text);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject missing and invalid patterns")
+        void testRedactMatches_InvalidPattern() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(1));
+
+            assertThrows(PdfProcessingException.class, () -> pdfService.redactMatches(file, List.of(), "test.pdf"));
+            PdfProcessingException e = assertThrows(PdfProcessingException.class,
+                () -> pdfService.redactMatches(file, List.of("[unclosed"), "test.pdf"));
+            assertTrue(e.getMessage().startsWith("Invalid pattern"));
+        }
+
+        @Test
+        @DisplayName("Should remove matches inside forms")
+        void testRedactMatches_Form() throws Exception {
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDFormXObject form = new PDFormXObject(document);
+                form.setBBox(new PDRectangle(612, 792));
+                form.setResources(new PDResources());
+                try (PDFormContentStream formStream = new PDFormContentStream(form)) {
+                    formStream.beginText();
+                    formStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    formStream.newLineAtOffset(72, 700);
+                    formStream.showText("Stamped by 555-123-4567");
+                    formStream.endText();
+                }
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.drawForm(form);
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            RedactionSearchResult result = pdfService.redactMatches(file, List.of("\\d{3}-\\d{3}-\\d{4}"), "test.pdf");
+
+            assertEquals(Map.of(1, 1), result.getMatchesByPage());
+            try (PDDocument redacted = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                String text = new PDFTextStripper().getText(redacted);
+                assertFalse(text.contains("555"), text);
+                assertTrue(text.contains("Stamped by"), text);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject overlong patterns and stop patterns that match too slowly")
+        void testRedactMatches_PatternLimits() throws Exception {
+            PdfDocumentLoader loader = new PdfDocumentLoader();
+            PdfWorkerPool pool = new PdfWorkerPool(1);
+            PdfService service = new PdfService(loader, pool, new ParallelTextExtractor(loader, pool),
+                new ResultCache(), new PdfMetrics(), new FontRegistry(), new PdfRedactor(loader, pool, 20, 100));
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
+                    contentStream.newLineAtOffset(20, 700);
+                    contentStream.showText("a".repeat(40) + "!");
+                    contentStream.endText();
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            PdfProcessingException tooLong = assertThrows(PdfProcessingException.class,
+                () -> service.redactMatches(file, List.of("x".repeat(21)), "test.pdf"));
+            assertTrue(tooLong.getMessage().startsWith("Invalid pattern"), tooLong.getMessage());
+
+            long start = System.nanoTime();
+            PdfProcessingException slow = assertThrows(PdfProcessingException.class,
+                () -> service.redactMatches(file, List.of("(a+)+$"), "test.pdf"));
+            assertTrue(slow.getMessage().contains("took too long"), slow.getMessage());
+            assertTrue(System.nanoTime() - start < 10_000_000_000L);
+        }
+
+        @Test
+        @DisplayName("Should black out covered image pixels")
+        void testRedactText_Image() throws Exception {
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                BufferedImage white = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+                Graphics2D graphics = white.createGraphics();
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, 100, 100);
+                graphics.dispose();
+                PDImageXObject image = LosslessFactory.createFromImage(document, white);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.drawImage(image, 100, 100, 200, 200);
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            // Bottom-left quarter of the image
+            PdfOperationResult result = pdfService.redactText(file, 100f, 100f, 100f, 100f, 1, "test.pdf");
+
+            try (PDDocument redacted = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                PDResources resources = redacted.getPage(0).getResources();
+                COSName name = resources.getXObjectNames().iterator().next();
+                BufferedImage pixels = ((PDImageXObject) resources.getXObject(name)).getImage();
+                assertEquals(0x000000, pixels.getRGB(10, 90) & 0xFFFFFF);
+                assertEquals(0xFFFFFF, pixels.getRGB(90, 10) & 0xFFFFFF);
+            }
+        }
+
+        @Test
+        @DisplayName("Should clear covered pixels in the soft mask of an image")
+        void testRedactText_ImageSoftMask() throws Exception {
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                // An opaque circle on a transparent background, as in a scanned signature
+                BufferedImage signature = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D graphics = signature.createGraphics();
+                graphics.setColor(Color.BLUE);
+                graphics.fillOval(0, 0, 100, 100);
+                graphics.dispose();
+                PDImageXObject image = LosslessFactory.createFromImage(document, signature);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.drawImage(image, 100, 100, 200, 200);
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            // Bottom-left quarter of the image
+            PdfOperationResult result = pdfService.redactText(file, 100f, 100f, 100f, 100f, 1, "test.pdf");
+
+            try (PDDocument redacted = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                PDResources resources = redacted.getPage(0).getResources();
+                COSName name = resources.getXObjectNames().iterator().next();
+                PDImageXObject softMask = ((PDImageXObject) resources.getXObject(name)).getSoftMask();
+                assertNotNull(softMask);
+                BufferedImage mask = softMask.getImage();
+                // Inside the circle: cleared where covered, opaque elsewhere
+                assertEquals(0x00, mask.getRGB(30, 70) & 0xFF);
+                assertEquals(0xFF, mask.getRGB(70, 30) & 0xFF);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Pipeline Tests")
+    class PipelineTests {
+
+        @Test
+        @DisplayName("Should apply all steps in a single output")
+        void testRunPipeline_Success() throws Exception {
+            MockMultipartFile pdfFile = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(3));
+            MockMultipartFile sigFile = new MockMultipartFile(
+                "signature", "sig.png", "image/png", createValidSignatureImage());
+
+            PipelineStep remove = new PipelineStep("remove");
+            remove.setPages(Arrays.asList(2));
+            PipelineStep watermark = new PipelineStep("watermark");
+            watermark.setText("DRAFT");
+            PipelineStep redact = new PipelineStep("redact");
+            redact.setRedactions(List.of(new RedactionArea(100, 700, 200, 30, 2)));
+            PipelineStep text = new PipelineStep("add-text");
+            text.setText("Approved");
+            PipelineStep signature = new PipelineStep("add-signature");
+            signature.setPage(2);
+
+            PdfOperationResult result = pdfService.runPipeline(pdfFile, 
+                List.of(remove, watermark, redact, text, signature), sigFile, "test.pdf");
+
+            assertTrue(result.isSuccess());
+            assertEquals("Pipeline applied 5 operations", result.getMessage());
+            try (var outputs = Files.list(tempDir)) {
+                assertEquals(1, outputs.count());
+            }
+            try (PDDocument output = Loader.loadPDF(tempDir.resolve(result.getOutputFilename()).toFile())) {
+                assertEquals(2, output.getNumberOfPages());
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject unknown operations and missing parameters")
+        void testRunPipeline_InvalidSteps() throws Exception {
+            byte[] pdf = createValidPdf(1);
+
+            PdfProcessingException unknown = assertThrows(PdfProcessingException.class, () -> 
+                pdfService.runPipeline(new MockMultipartFile("file", "test.pdf", "application/pdf", pdf), 
+                    List.of(new PipelineStep("rotate")), null, "test.pdf"));
+            assertTrue(unknown.getMessage().contains("Unknown pipeline operation: rotate"));
+
+            PdfProcessingException missing = assertThrows(PdfProcessingException.class, () -> 
+                pdfService.runPipeline(new MockMultipartFile("file", "test.pdf", "application/pdf", pdf), 
+                    List.of(new PipelineStep("add-signature")), null, "test.pdf"));
+            assertTrue(missing.getMessage().contains("requires signature"));
+        }
     }
 
     @Nested
@@ -354,6 +1230,27 @@ class PdfServiceTest {
             assertTrue(result.getOutputFilename().endsWith(".md"));
         }
 
+        @Test
+        @DisplayName("Should keep page order when extracting in parallel chunks")
+        void testConvertToMarkdown_ParallelChunks() throws Exception {
+            PdfDocumentLoader loader = new PdfDocumentLoader();
+            PdfWorkerPool pool = new PdfWorkerPool(4);
+            PdfService service = new PdfService(loader, pool, new ParallelTextExtractor(loader, pool, 2), new ResultCache());
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createTextPdf(7));
+
+            PdfOperationResult result = service.convertToMarkdown(file, "test.pdf");
+
+            assertTrue(result.isSuccess());
+            String markdown = Files.readString(tempDir.resolve(result.getOutputFilename()));
+            int previous = -1;
+            for (int page = 1; page <= 7; page++) {
+                int index = markdown.indexOf("Page " + page);
+                assertTrue(index > previous, "Page " + page + " out of order");
+                previous = index;
+            }
+        }
+
         @Test
         @DisplayName("Should sanitize path traversal in originalFilename")
         void testConvertToMarkdown_PathTraversal() throws Exception {
@@ -370,6 +1267,203 @@ class PdfServiceTest {
             assertTrue(result.getOutputFilename().startsWith("malicious_"));
             assertTrue(result.getOutputFilename().endsWith(".md"));
         }
+
+        @Test
+        @DisplayName("Should emit headings, paragraphs, lists and tables")
+        void testConvertToMarkdown_Structure() throws Exception {
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                PDFont regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+                PDFont bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    showText(contentStream, bold, 24, 72, 720, "Quarterly Report");
+                    showText(contentStream, regular, 12, 72, 680, "Revenue grew in every region during the");
+                    showText(contentStream, regular, 12, 72, 666, "third quarter.");
+                    showText(contentStream, regular, 12, 72, 630, "\u2022 Europe");
+                    showText(contentStream, regular, 12, 72, 616, "\u2022 Asia");
+                    String[][] table = {{"Region", "Units", "Growth"}, {"Europe", "120", "4%"}, {"Asia", "340", "9%"}};
+                    for (int row = 0; row < table.length; row++) {
+                        for (int col = 0; col < 3; col++) {
+                            showText(contentStream, regular, 12, 72 + col * 120, 580 - row * 14, table[row][col]);
+                        }
+                    }
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            PdfOperationResult result = pdfService.convertToMarkdown(file, "test.pdf");
+
+            String markdown = Files.readString(tempDir.resolve(result.getOutputFilename()));
+            assertTrue(markdown.startsWith("# Quarterly Report\n\n"), markdown);
+            assertTrue(markdown.contains("Revenue grew in every region during the third quarter.\n\n"), markdown);
+            assertTrue(markdown.contains("- Europe\n- Asia\n\n"), markdown);
+            assertTrue(markdown.contains("| Region | Units | Growth |\n| --- | --- | --- |\n| Europe | 120 | 4% |\n"), 
+                markdown);
+        }
+
+        @Test
+        @DisplayName("Should report pages without text, including text shown through forms")
+        void testConvertToMarkdown_ImageOnlyPages() throws Exception {
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                PDFont font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+                addScannedPage(document);
+
+                PDFormXObject form = new PDFormXObject(document);
+                form.setBBox(new PDRectangle(612, 792));
+                form.setResources(new PDResources());
+                try (PDFormContentStream formStream = new PDFormContentStream(form)) {
+                    formStream.beginText();
+                    formStream.setFont(font, 12);
+                    formStream.newLineAtOffset(72, 700);
+                    formStream.showText("Shown by a form");
+                    formStream.endText();
+                }
+                PDPage formPage = new PDPage();
+                document.addPage(formPage);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, formPage)) {
+                    contentStream.drawForm(form);
+                }
+
+                PDPage textPage = new PDPage();
+                document.addPage(textPage);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, textPage)) {
+                    showText(contentStream, font, 12, 72, 700, "Shown directly");
+                }
+
+                // A font in the resources but nothing drawn with it
+                PDPage emptyTextPage = new PDPage();
+                document.addPage(emptyTextPage);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, emptyTextPage)) {
+                    contentStream.beginText();
+                    contentStream.setFont(font, 12);
+                    contentStream.endText();
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", pdf);
+
+            PdfOperationResult result = pdfService.convertToMarkdown(file, "test.pdf");
+
+            assertEquals("PDF converted to Markdown", result.getMessage());
+            assertEquals(List.of(1, 4), result.getImageOnlyPages());
+            String markdown = Files.readString(tempDir.resolve(result.getOutputFilename()));
+            assertTrue(markdown.contains("Shown by a form"), markdown);
+            assertTrue(markdown.contains("Shown directly"), markdown);
+        }
+
+        @Test
+        @DisplayName("Should skip extraction for scanned documents")
+        void testConvertToMarkdown_ScannedDocument() throws Exception {
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                for (int i = 0; i < 3; i++) {
+                    addScannedPage(document);
+                }
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+            List<int[]> progress = Collections.synchronizedList(new ArrayList<>());
+
+            PdfOperationResult result = pdfService.convertToMarkdown(
+                new MockMultipartFile("file", "scan.pdf", "application/pdf", pdf), "scan.pdf",
+                (processed, total) -> progress.add(new int[] {processed, total}));
+            PdfOperationResult cached = pdfService.convertToMarkdown(
+                new MockMultipartFile("file", "scan.pdf", "application/pdf", pdf), "scan.pdf");
+
+            assertEquals("PDF converted to Markdown", result.getMessage());
+            assertEquals(List.of(1, 2, 3), result.getImageOnlyPages());
+            assertTrue(Files.readString(tempDir.resolve(result.getOutputFilename()))
+                .startsWith("[No extractable text found in this PDF."));
+            assertArrayEquals(new int[] {3, 3}, progress.get(progress.size() - 1));
+            assertEquals(result, cached);
+        }
+
+        @Test
+        @DisplayName("Should delete the partial output when a conversion fails")
+        void testConvertToMarkdown_FailureLeavesNoOutput() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createTextPdf(3));
+
+            assertThrows(PdfProcessingException.class, () -> pdfService.convertToMarkdown(file, "test.pdf",
+                (processed, total) -> {
+                    if (processed > 0) {
+                        throw new IllegalStateException("aborted");
+                    }
+                }));
+
+            try (Stream<Path> outputs = Files.list(tempDir)) {
+                assertEquals(List.of(), outputs.filter(path -> path.toString().endsWith(".md")).toList());
+            }
+        }
+
+        @Test
+        @DisplayName("Should answer a cached conversion without opening the document")
+        void testConvertToMarkdown_CacheHitSkipsParsing() throws Exception {
+            AtomicInteger loads = new AtomicInteger();
+            PdfDocumentLoader loader = new PdfDocumentLoader() {
+                @Override
+                public PDDocument load(MultipartFile file) throws IOException {
+                    loads.incrementAndGet();
+                    return super.load(file);
+                }
+
+                @Override
+                public PDDocument open(Path path) throws IOException {
+                    loads.incrementAndGet();
+                    return super.open(path);
+                }
+            };
+            PdfWorkerPool pool = new PdfWorkerPool(2);
+            PdfService service = new PdfService(loader, pool, new ParallelTextExtractor(loader, pool), new ResultCache());
+            ReflectionTestUtils.setField(service, "uploadDir", tempDir.toString());
+            byte[] pdf;
+            try (PDDocument document = new PDDocument();
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                addScannedPage(document);
+                document.addPage(new PDPage());
+                addScannedPage(document);
+                document.save(baos);
+                pdf = baos.toByteArray();
+            }
+
+            PdfOperationResult first = service.convertToMarkdown(
+                new MockMultipartFile("file", "scan.pdf", "application/pdf", pdf), "scan.pdf");
+            int loadsAfterFirst = loads.get();
+            PdfOperationResult cached = service.convertToMarkdown(
+                new MockMultipartFile("file", "scan.pdf", "application/pdf", pdf), "scan.pdf");
+
+            assertTrue(loadsAfterFirst > 0);
+            assertEquals(loadsAfterFirst, loads.get());
+            assertEquals(first.getImageOnlyPages(), cached.getImageOnlyPages());
+            assertEquals(first.getOutputFilename(), cached.getOutputFilename());
+        }
+
+        private void addScannedPage(PDDocument document) throws IOException {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            BufferedImage scan = new BufferedImage(85, 110, BufferedImage.TYPE_BYTE_GRAY);
+            PDImageXObject image = LosslessFactory.createFromImage(document, scan);
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.drawImage(image, 0, 0, 612, 792);
+            }
+        }
+
+        private void showText(PDPageContentStream contentStream, PDFont font, float size, float x, float y, 
+                String text) throws IOException {
+            contentStream.beginText();
+            contentStream.setFont(font, size);
+            contentStream.newLineAtOffset(x, y);
+            contentStream.showText(text);
+            contentStream.endText();
+        }
     }
 
     @Nested
@@ -390,6 +1484,23 @@ class PdfServiceTest {
             assertTrue(result.getOutputFilename().endsWith(".docx"));
         }
 
+        @Test
+        @DisplayName("Should delete the partial output when a conversion fails")
+        void testConvertToDocx_FailureLeavesNoOutput() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createTextPdf(3));
+
+            assertThrows(PdfProcessingException.class, () -> pdfService.convertToDocx(file, "test.pdf",
+                (processed, total) -> {
+                    if (processed > 0) {
+                        throw new IllegalStateException("aborted");
+                    }
+                }));
+
+            try (Stream<Path> outputs = Files.list(tempDir)) {
+                assertEquals(List.of(), outputs.filter(path -> path.toString().endsWith(".docx")).toList());
+            }
+        }
+
         @Test
         @DisplayName("Should sanitize path traversal in originalFilename")
         void testConvertToDocx_PathTraversal() throws Exception {
@@ -406,6 +1517,67 @@ class PdfServiceTest {
             assertTrue(result.getOutputFilename().startsWith("malicious_"));
             assertTrue(result.getOutputFilename().endsWith(".docx"));
         }
+
+        @Test
+        @DisplayName("Should report progress for every extracted page")
+        void testConvertToDocx_ReportsProgress() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createTextPdf(120));
+            List<int[]> events = Collections.synchronizedList(new ArrayList<>());
+
+            PdfOperationResult result = pdfService.convertToDocx(file, "test.pdf", 
+                (processed, total) -> events.add(new int[]{processed, total}));
+
+            assertTrue(result.isSuccess());
+            assertEquals(121, events.size());
+            assertTrue(events.stream().allMatch(event -> event[1] == 120));
+            assertEquals(120, events.stream().mapToInt(event -> event[0]).max().orElse(0));
+        }
+
+        @Test
+        @DisplayName("Should stream every page into document.xml in order")
+        void testConvertToDocx_DocumentXml() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createTextPdf(120));
+
+            PdfOperationResult result = pdfService.convertToDocx(file, "test.pdf");
+
+            String documentXml = readDocumentXml(tempDir.resolve(result.getOutputFilename()));
+            assertTrue(documentXml.endsWith("<w:sectPr/></w:body></w:document>"));
+            int previous = -1;
+            for (int page = 1; page <= 120; page++) {
+                int index = documentXml.indexOf(">Page " + page + "<");
+                assertTrue(index > previous, "Page " + page + " out of order");
+                previous = index;
+            }
+        }
+
+        @Test
+        @DisplayName("Should write a placeholder paragraph when no text is found")
+        void testConvertToDocx_NoText() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", createValidPdf(2));
+
+            PdfOperationResult result = pdfService.convertToDocx(file, "test.pdf");
+
+            String documentXml = readDocumentXml(tempDir.resolve(result.getOutputFilename()));
+            assertTrue(documentXml.contains("[No extractable text found in this PDF."));
+            assertEquals(List.of(1, 2), result.getImageOnlyPages());
+        }
+
+        private String readDocumentXml(Path docx) throws IOException {
+            Set<String> entries = new HashSet<>();
+            String documentXml = null;
+            try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(docx))) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    entries.add(entry.getName());
+                    if (entry.getName().equals("word/document.xml")) {
+                        documentXml = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                    }
+                }
+            }
+            assertTrue(entries.containsAll(Set.of("[Content_Types].xml", "_rels/.rels", "word/styles.xml")));
+            assertNotNull(documentXml);
+            return documentXml;
+        }
     }
 
     @Nested
@@ -453,6 +1625,23 @@ class PdfServiceTest {
             assertTrue(result.length > 0);
         }
 
+        @Test
+        @DisplayName("Should resolve existing file for streaming")
+        void testResolveDownload_Success() throws Exception {
+            Path testFile = tempDir.resolve("test.pdf");
+            Files.write(testFile, createValidPdf(1));
+
+            Path resolved = pdfService.resolveDownload("test.pdf");
+
+            assertEquals(testFile.toRealPath(), resolved);
+        }
+
+        @Test
+        @DisplayName("Should reject path traversal when resolving for streaming")
+        void testResolveDownload_PathTraversal() {
+            assertThrows(PdfProcessingException.class, () -> pdfService.resolveDownload("../etc/passwd"));
+        }
+
         @Test
         @DisplayName("Should throw exception for non-existent file")
         void testDownloadFile_NonExistent() {
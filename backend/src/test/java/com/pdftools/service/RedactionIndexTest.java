@@ -0,0 +1,65 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.RedactionArea;
+import com.pdftools.exception.PdfProcessingException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedactionIndexTest {
+
+    @Test
+    @DisplayName("Should group areas by page in request order with normalized corners")
+    void testGroupsByPage() throws Exception {
+        RedactionIndex index = RedactionIndex.parse("["
+            + "{\"x\":10,\"y\":20,\"width\":30,\"height\":40,\"pageNum\":3},"
+            + "{\"x\":1,\"y\":2,\"width\":3,\"height\":4,\"pageNum\":1},"
+            + "{\"x\":50,\"y\":60,\"width\":-10,\"height\":-20,\"pageNum\":3}]");
+
+        assertEquals(3, index.size());
+        assertEquals(List.of(1, 3), index.pages(5));
+        assertEquals(List.of(1), index.pages(2));
+        assertArrayEquals(new float[] {1, 2, 4, 6}, index.areas(1));
+        assertArrayEquals(new float[] {10, 20, 40, 60, 40, 40, 50, 60}, index.areas(3));
+        assertEquals(0, index.areas(2).length);
+    }
+
+    @Test
+    @DisplayName("Should build the same index from typed areas")
+    void testFromAreas() throws Exception {
+        RedactionIndex index = RedactionIndex.of(List.of(
+            new RedactionArea(10, 20, 30, 40, 2), new RedactionArea(1, 2, 3, 4, 2)));
+
+        assertEquals(List.of(2), index.pages(2));
+        assertArrayEquals(new float[] {10, 20, 40, 60, 1, 2, 4, 6}, index.areas(2));
+    }
+
+    @Test
+    @DisplayName("Should name the offending area in validation errors")
+    void testValidation() {
+        PdfProcessingException e = assertThrows(PdfProcessingException.class, () -> RedactionIndex.parse(
+            "[{\"x\":1,\"y\":1,\"width\":5,\"height\":5,\"pageNum\":1},{\"x\":1,\"y\":1,\"width\":0,\"height\":5,\"pageNum\":1}]"));
+        assertEquals("Invalid redaction at index 1: width and height must not be zero", e.getMessage());
+        assertThrows(PdfProcessingException.class, () -> RedactionIndex.parse(""));
+        assertThrows(PdfProcessingException.class, () -> RedactionIndex.parse("[{\"x\":1,"));
+        assertThrows(PdfProcessingException.class, () -> RedactionIndex.of(1, 0, 0, Float.NaN, 5));
+    }
+
+    @Test
+    @DisplayName("Should reject areas with a missing field instead of defaulting it to 0")
+    void testMissingFields() {
+        for (String field : List.of("x", "y", "width", "height", "pageNum")) {
+            String area = "{\"x\":1,\"y\":1,\"width\":5,\"height\":5,\"pageNum\":1}"
+                .replaceFirst("\"" + field + "\":\\d+,?", "")
+                .replace(",}", "}");
+            PdfProcessingException e = assertThrows(PdfProcessingException.class,
+                () -> RedactionIndex.parse("[{\"x\":1,\"y\":1,\"width\":5,\"height\":5,\"pageNum\":1}," + area + "]"),
+                area);
+            assertTrue(e.getMessage().startsWith("Invalid redaction at index 1:"), e.getMessage());
+            assertTrue(e.getMessage().contains("'" + field + "'"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.pdftools.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should fall back to disk for tiles evicted from memory")
+    void testMemoryEviction() {
+        TileCache cache = new TileCache(tempDir.toString(), 100, 1000);
+
+        cache.put("a", new byte[60]);
+        cache.put("b", new byte[60]);
+
+        assertEquals(60, cache.getMemoryBytes());
+        assertEquals(120, cache.getDiskBytes());
+        assertArrayEquals(new byte[60], cache.get("a"));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Should delete least recently used tiles from disk")
+    void testDiskEviction() {
+        TileCache cache = new TileCache(tempDir.toString(), 0, 100);
+
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+        assertNotNull(cache.get("a"));
+        cache.put("c", new byte[40]);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertFalse(Files.exists(tempDir.resolve("b.png")));
+        assertEquals(80, cache.getDiskBytes());
+    }
+
+    @Test
+    @DisplayName("Should find tiles written before a restart")
+    void testRestart() {
+        new TileCache(tempDir.toString(), 100, 1000).put("a", new byte[] {1, 2, 3});
+
+        TileCache restarted = new TileCache(tempDir.toString(), 100, 1000);
+
+        assertArrayEquals(new byte[] {1, 2, 3}, restarted.get("a"));
+        assertNull(restarted.get("b"));
+        assertEquals(1, restarted.getMisses());
+    }
+}
@@ -0,0 +1,88 @@
+package com.pdftools.service;
+
+import com.pdftools.dto.StorageUsage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadStorageManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path createOutput(String name, int size, long ageMinutes) throws Exception {
+        Path file = Files.write(tempDir.resolve(name), new byte[size]);
+        file.toFile().setLastModified(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(ageMinutes));
+        return file;
+    }
+
+    @Test
+    @DisplayName("Should delete outputs older than the time to live")
+    void testSweep_ExpiresOldOutputs() throws Exception {
+        UploadStorageManager manager = new UploadStorageManager(tempDir.toString(), 60, -1);
+        Path old = createOutput("old.pdf", 10, 120);
+        Path fresh = createOutput("fresh.pdf", 10, 5);
+
+        assertEquals(1, manager.sweep());
+
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(fresh));
+        StorageUsage usage = manager.getUsage();
+        assertEquals(1, usage.getFileCount());
+        assertEquals(10, usage.getUsedBytes());
+        assertEquals(1, usage.getEvictedFiles());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used outputs above the quota")
+    void testSweep_EvictsLeastRecentlyUsed() throws Exception {
+        UploadStorageManager manager = new UploadStorageManager(tempDir.toString(), 60, 250);
+        Path first = createOutput("first.pdf", 100, 30);
+        Path second = createOutput("second.pdf", 100, 20);
+        Path third = createOutput("third.pdf", 100, 10);
+        manager.touch("first.pdf");
+
+        assertEquals(1, manager.sweep());
+
+        assertTrue(Files.exists(first));
+        assertFalse(Files.exists(second));
+        assertTrue(Files.exists(third));
+        assertEquals(200, manager.getUsage().getUsedBytes());
+    }
+
+    @Test
+    @DisplayName("Should delete stale scratch files outside the quota")
+    void testSweep_RemovesStaleScratchFiles() throws Exception {
+        Path uploads = Files.createDirectory(tempDir.resolve("uploads"));
+        Path scratch = Files.createDirectory(tempDir.resolve("scratch"));
+        UploadStorageManager manager = new UploadStorageManager(uploads.toString(), scratch.toString(), 60, -1);
+        Path abandoned = createOutput("scratch/upload-abandoned.pdf", 10, 120);
+        Path spill = createOutput("scratch/PDFBox1.tmp", 10, 120);
+        Path active = createOutput("scratch/upload-active.pdf", 10, 5);
+        Path output = createOutput("uploads/out.pdf", 10, 5);
+
+        assertEquals(2, manager.sweep());
+
+        assertFalse(Files.exists(abandoned));
+        assertFalse(Files.exists(spill));
+        assertTrue(Files.exists(active));
+        assertTrue(Files.exists(output));
+        assertEquals(1, manager.getUsage().getFileCount());
+        assertEquals(0, manager.getUsage().getEvictedFiles());
+    }
+
+    @Test
+    @DisplayName("Should treat a missing upload directory as empty")
+    void testSweep_MissingDirectory() throws Exception {
+        UploadStorageManager manager = new UploadStorageManager(tempDir.resolve("missing").toString(), 60, -1);
+
+        assertEquals(0, manager.sweep());
+        assertEquals(0, manager.getUsage().getFileCount());
+    }
+}